@@ -0,0 +1,63 @@
+package com.eduardo.paytracker.config.metrics;
+
+import com.eduardo.paytracker.scheduler.EmailDeliveryWorker;
+import com.eduardo.paytracker.scheduler.EmailScheduler;
+import com.eduardo.paytracker.scheduler.ReminderRunStats;
+import com.eduardo.paytracker.service.TokenService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(TokenService tokenService) {
+        return registry -> {
+            FunctionCounter.builder("paytracker.token.cache.hits", tokenService, TokenService::getCacheHits)
+                    .description("Bearer tokens served from the verified-token cache")
+                    .register(registry);
+            FunctionCounter.builder("paytracker.token.cache.misses", tokenService, TokenService::getCacheMisses)
+                    .description("Bearer tokens that required full signature verification")
+                    .register(registry);
+            Gauge.builder("paytracker.token.cache.size", tokenService, TokenService::getCacheSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder reminderMetrics(EmailScheduler emailScheduler) {
+        return registry -> {
+            FunctionCounter.builder("paytracker.reminders.scanned", emailScheduler, EmailScheduler::getTotalScanned)
+                    .description("Transactions read by the due-date reminder scan")
+                    .register(registry);
+            FunctionCounter.builder("paytracker.reminders.enqueued", emailScheduler, EmailScheduler::getTotalEnqueued)
+                    .register(registry);
+            Gauge.builder("paytracker.reminders.last.duration", emailScheduler, scheduler -> lastRunSeconds(scheduler.getLastRun()))
+                    .baseUnit("seconds")
+                    .description("Wall-clock duration of the most recent reminder run")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailDeliveryWorker emailDeliveryWorker) {
+        return registry -> {
+            FunctionCounter.builder("paytracker.email.outbox.sent", emailDeliveryWorker, EmailDeliveryWorker::getTotalSent)
+                    .register(registry);
+            FunctionCounter.builder("paytracker.email.outbox.retried", emailDeliveryWorker, EmailDeliveryWorker::getTotalRetried)
+                    .description("Delivery attempts that failed and were rescheduled with backoff")
+                    .register(registry);
+            FunctionCounter.builder("paytracker.email.outbox.failed", emailDeliveryWorker, EmailDeliveryWorker::getTotalFailed)
+                    .description("Messages abandoned after reaching the maximum number of attempts")
+                    .register(registry);
+        };
+    }
+
+    private static double lastRunSeconds(ReminderRunStats stats) {
+        return stats == null ? 0 : stats.duration().toMillis() / 1000.0;
+    }
+
+}
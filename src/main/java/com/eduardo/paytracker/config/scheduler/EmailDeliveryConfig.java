@@ -0,0 +1,25 @@
+package com.eduardo.paytracker.config.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class EmailDeliveryConfig {
+
+    // Shared by every drain and closed with the context. SMTPTransport holds its monitor for the whole send, and before
+    // JDK 24 (JEP 491) a blocked virtual thread inside synchronized stays pinned to its carrier: up to workers stalled
+    // SMTP sessions could then take every carrier away from the request handlers, so virtual mode only switches the
+    // delivery threads over where they no longer pin.
+    @Bean
+    public ExecutorService emailDeliveryExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                                 @Value("${api.email.outbox.workers:20}") int workers) {
+        if (virtualThreads && Runtime.version().feature() >= 24) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("email-delivery-", 0).factory());
+    }
+}
@@ -0,0 +1,12 @@
+package com.eduardo.paytracker.config.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+public record AuthenticatedUser(Long id, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+}
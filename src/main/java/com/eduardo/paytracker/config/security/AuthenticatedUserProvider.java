@@ -0,0 +1,24 @@
+package com.eduardo.paytracker.config.security;
+
+import com.eduardo.paytracker.exception.TokenException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthenticatedUserProvider {
+
+    public AuthenticatedUser getAuthenticatedUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new TokenException("Authentication required!");
+        }
+
+        return user;
+    }
+
+    public Long getUserId() {
+        return getAuthenticatedUser().id();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.eduardo.paytracker.config.security;
 
 import com.eduardo.paytracker.exception.TokenException;
+import com.eduardo.paytracker.model.User;
 import com.eduardo.paytracker.repository.UserRepository;
 import com.eduardo.paytracker.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +10,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,6 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -25,6 +28,10 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserRepository userRepository;
+    private final TokenVersionCache tokenVersionCache;
+
+    @Value("${api.security.token.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -34,9 +41,11 @@ public class SecurityFilter extends OncePerRequestFilter {
             var token = getToken(request);
 
             if (token != null) {
-                var subject = tokenService.validateToken(token);
-                var user = userRepository.findByEmail(subject);
-                var authentication = new UsernamePasswordAuthenticationToken(user, token, user.getAuthorities());
+                var claims = tokenService.validateToken(token);
+                var principal = stateless && claims.isStateless()
+                        ? checkTokenVersion(claims)
+                        : loadAuthenticatedUser(claims);
+                var authentication = new UsernamePasswordAuthenticationToken(principal, token, List.of());
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
@@ -59,6 +68,28 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
     }
 
+    private AuthenticatedUser checkTokenVersion(TokenClaims claims) {
+        if (!tokenVersionCache.isCurrent(claims.userId(), claims.tokenVersion())) {
+            throw new TokenException("Token has been revoked!");
+        }
+
+        return claims.toAuthenticatedUser();
+    }
+
+    private AuthenticatedUser loadAuthenticatedUser(TokenClaims claims) {
+        var user = (User) userRepository.findByEmail(claims.subject());
+
+        if (user == null) {
+            throw new TokenException("Invalid or expired token!");
+        }
+
+        if (claims.tokenVersion() != null && !claims.tokenVersion().equals(user.getTokenVersion())) {
+            throw new TokenException("Token has been revoked!");
+        }
+
+        return new AuthenticatedUser(user.getId(), user.getEmail());
+    }
+
     private String getToken(HttpServletRequest request){
         var authoritzationHeader = request.getHeader("Authorization");
 
@@ -0,0 +1,13 @@
+package com.eduardo.paytracker.config.security;
+
+public record TokenClaims(String subject, Long userId, Integer tokenVersion) {
+
+    public boolean isStateless() {
+        return userId != null;
+    }
+
+    public AuthenticatedUser toAuthenticatedUser() {
+        return new AuthenticatedUser(userId, subject);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.eduardo.paytracker.config.security;
+
+import com.eduardo.paytracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token_version of each user for the stateless path. A user's version is read at most once per {@code ttl},
+ * so a logout revokes older tokens at once on the node that handled it and within {@code ttl} on the others.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${api.security.token.version-ttl:PT30S}") Duration ttl,
+                             @Value("${api.security.token.cache-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        var now = System.nanoTime();
+        var cached = versions.get(userId);
+
+        if (cached == null || now - cached.loadedAt() > ttlNanos) {
+            var version = userRepository.findTokenVersion(userId);
+
+            if (version.isEmpty()) {
+                versions.remove(userId);
+                return false;
+            }
+
+            cached = new CachedVersion(version.get(), now);
+            if (versions.size() >= maxSize && !versions.containsKey(userId)) {
+                evictOne();
+            }
+            versions.put(userId, cached);
+        }
+
+        return cached.version().equals(tokenVersion);
+    }
+
+    public void forget(Long userId) {
+        versions.remove(userId);
+    }
+
+    // Any entry will do: an evicted user only costs one more lookup on their next request.
+    private void evictOne() {
+        var keys = versions.keySet().iterator();
+        if (keys.hasNext()) {
+            versions.remove(keys.next());
+        }
+    }
+
+    private record CachedVersion(Integer version, long loadedAt) {
+    }
+
+}
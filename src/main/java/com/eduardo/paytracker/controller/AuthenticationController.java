@@ -58,4 +58,15 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new RegisterResposneDTO("User successfully created!"));
     }
 
+    @Operation(summary = "Encerra a sessão, revogando todos os tokens emitidos para o usuário")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revogados com sucesso"),
+            @ApiResponse(responseCode = "401", description = "Token ausente, inválido ou já revogado")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        authenticationService.logout();
+        return ResponseEntity.noContent().build();
+    }
+
 }
\ No newline at end of file
@@ -1,9 +1,24 @@
 package com.eduardo.paytracker.controller;
 
+import com.eduardo.paytracker.dto.MonthlyBalanceDTO;
+import com.eduardo.paytracker.dto.TransactionBatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionBulkResultDTO;
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionBulkUpdateRequestDTO;
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.dto.TransactionImportResultDTO;
+import com.eduardo.paytracker.dto.TransactionLookupResponseDTO;
 import com.eduardo.paytracker.dto.TransactionRequestDTO;
 import com.eduardo.paytracker.dto.TransactionResponseDTO;
 import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionSliceResponseDTO;
+import com.eduardo.paytracker.model.enums.ExportFormat;
+import com.eduardo.paytracker.model.enums.ImportFormat;
+import com.eduardo.paytracker.service.MonthlyBalanceService;
+import com.eduardo.paytracker.service.TransactionExportService;
+import com.eduardo.paytracker.service.TransactionImportService;
 import com.eduardo.paytracker.service.TransactionService;
+import com.eduardo.paytracker.utils.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,9 +28,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.util.List;
 
 @RestController
 @RequestMapping("/transaction")
@@ -25,6 +48,9 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
+    private final MonthlyBalanceService monthlyBalanceService;
 
     @Operation(summary = "Cria uma nova transação")
     @ApiResponses(value = {
@@ -37,56 +63,175 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
     }
 
-    @Operation(summary = "Lista todas as transações do usuário com paginação")
+    @Operation(summary = "Cria várias transações de uma só vez, em uma única transação de banco")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transações criadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio, acima do limite ou com itens inválidos")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionResponseDTO>> createBatch(@RequestBody @Valid TransactionBatchRequestDTO data) {
+        var createdTransactions = transactionService.createTransactions(data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdTransactions);
+    }
+
+    @Operation(summary = "Importa transações de um extrato CSV ou OFX, processado em streaming e gravado em lotes")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de transações retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Arquivo processado; linhas inválidas são reportadas sem interromper a importação"),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio, sem as colunas obrigatórias ou de formato não suportado"),
+            @ApiResponse(responseCode = "413", description = "Arquivo acima do tamanho máximo permitido")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TransactionImportResultDTO> importFile(@RequestParam MultipartFile file,
+                                                                 @RequestParam(required = false) ImportFormat format) {
+        var result = transactionImportService.importTransactions(file, format);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @Operation(summary = "Lista as transações do usuário com paginação, com filtros opcionais por vencimento, tipo, valor e data de criação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de transações retornada com sucesso; com filtros, pode vir vazia"),
+            @ApiResponse(responseCode = "304", description = "Nenhuma transação mudou desde o ETag enviado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Filtro com valor inválido"),
             @ApiResponse(responseCode = "404", description = "Usuário ainda não possui transações")
     })
     @GetMapping
-    public ResponseEntity<Page<TransactionResponseDTO>> getAll(Pageable pageable) {
-        var transactions = transactionService.getAllTransactions(pageable);
+    public ResponseEntity<Page<TransactionResponseDTO>> getAll(TransactionFilterDTO filter, Pageable pageable,
+                                                               WebRequest request) {
+        // Read before the page: a write landing in between can only make the ETag older than the body, never newer.
+        var eTag = ETagUtil.of(transactionService.getTransactionsVersion(), filter + "|" + pageable);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(ETagUtil.REVALIDATE).build();
+        }
+
+        var transactions = filter.isEmpty()
+                ? transactionService.getAllTransactions(pageable)
+                : transactionService.searchTransactions(filter, pageable);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).cacheControl(ETagUtil.REVALIDATE).body(transactions);
+    }
+
+    @Operation(summary = "Lista as transações do usuário por cursor (keyset), sem contagem total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fatia de transações retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "404", description = "Usuário ainda não possui transações")
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<TransactionSliceResponseDTO> getAllByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        var transactions = transactionService.getTransactionsByCursor(cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(transactions);
+    }
+
+    @Operation(summary = "Busca várias transações pelos IDs em uma única consulta, na ordem pedida")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transações encontradas; IDs inexistentes ou de outro usuário vêm em missingIds"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vazia, inválida ou acima do limite")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<TransactionLookupResponseDTO> getByIds(@RequestParam List<Long> ids) {
+        var transactions = transactionService.getTransactionsByIds(ids);
         return ResponseEntity.status(HttpStatus.OK).body(transactions);
     }
 
+    @Operation(summary = "Exporta todo o histórico de transações do usuário em NDJSON ou CSV, via streaming")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato de exportação inválido")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        var body = transactionExportService.exportTransactions(format);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions." + format.getExtension())
+                .body(body);
+    }
+
+    @Operation(summary = "Resumo mensal de receitas, despesas e saldo pelo mês de vencimento (padrão: últimos 12 meses)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso; meses sem transações são omitidos"),
+            @ApiResponse(responseCode = "400", description = "Mês inicial posterior ao mês final")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<List<MonthlyBalanceDTO>> getMonthlySummary(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+
+        var summary = monthlyBalanceService.getMonthlyBalances(from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(summary);
+    }
+
     @Operation(summary = "Busca uma transação específica pelo ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transação encontrada"),
+            @ApiResponse(responseCode = "304", description = "Transação não mudou desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Transação não encontrada")
     })
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> getById(@PathVariable Long id) {
         var transaction = transactionService.getTransactionById(id);
-        return ResponseEntity.status(HttpStatus.OK).body(transaction);
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETagUtil.of(transaction.version()))
+                .cacheControl(ETagUtil.REVALIDATE).body(transaction);
     }
 
     @Operation(summary = "Atualiza parcialmente uma transação")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transação atualizada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Erro de validação dos dados"),
-            @ApiResponse(responseCode = "404", description = "Transação não encontrada")
+            @ApiResponse(responseCode = "404", description = "Transação não encontrada"),
+            @ApiResponse(responseCode = "412", description = "Transação alterada desde o ETag enviado em If-Match")
     })
     @PatchMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> specificUpdate(
             @RequestBody @Valid TransactionPatchRequestDTO data,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        var transaction = transactionService.transactionSpecificUpdate(data, id);
-        return ResponseEntity.status(HttpStatus.OK).body(transaction);
+        var transaction = transactionService.transactionSpecificUpdate(data, id, ETagUtil.parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETagUtil.of(transaction.version()))
+                .cacheControl(ETagUtil.REVALIDATE).body(transaction);
     }
 
     @Operation(summary = "Atualiza completamente uma transação")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transação atualizada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Erro de validação ou tipo inválido"),
-            @ApiResponse(responseCode = "404", description = "Transação não encontrada")
+            @ApiResponse(responseCode = "404", description = "Transação não encontrada"),
+            @ApiResponse(responseCode = "412", description = "Transação alterada desde o ETag enviado em If-Match")
     })
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> completeUpdate(
             @RequestBody @Valid TransactionRequestDTO data,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        var transaction = transactionService.transactionCompleteUpdate(data, id, ETagUtil.parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETagUtil.of(transaction.version()))
+                .cacheControl(ETagUtil.REVALIDATE).body(transaction);
+    }
+
+    @Operation(summary = "Atualiza em lote as transações selecionadas por IDs, tipo e/ou período de vencimento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alteração aplicada; retorna quantas transações foram afetadas"),
+            @ApiResponse(responseCode = "400", description = "Seleção vazia, nenhum campo a alterar ou dados inválidos")
+    })
+    @PatchMapping("/bulk")
+    public ResponseEntity<TransactionBulkResultDTO> bulkUpdate(@RequestBody @Valid TransactionBulkUpdateRequestDTO data) {
+        var result = transactionService.updateTransactions(data);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
 
-        var transaction = transactionService.transactionCompleteUpdate(data, id);
-        return ResponseEntity.status(HttpStatus.OK).body(transaction);
+    @Operation(summary = "Remove em lote as transações selecionadas por IDs, tipo e/ou período de vencimento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transações removidas; retorna quantas foram afetadas"),
+            @ApiResponse(responseCode = "400", description = "Seleção vazia ou inválida")
+    })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<TransactionBulkResultDTO> bulkDelete(@RequestBody @Valid TransactionBulkSelectionDTO selection) {
+        var result = transactionService.deleteTransactions(selection);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
     @Operation(summary = "Remove uma transação pelo ID")
@@ -0,0 +1,8 @@
+package com.eduardo.paytracker.dto;
+
+public record EmailMessageDTO(
+        String recipient,
+        String subject,
+        String html
+) {
+}
@@ -0,0 +1,18 @@
+package com.eduardo.paytracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+public record MonthlyBalanceDTO(
+        YearMonth month,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net
+) {
+
+    public MonthlyBalanceDTO(LocalDate monthStart, BigDecimal income, BigDecimal expense) {
+        this(YearMonth.from(monthStart), income, expense, income.subtract(expense));
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.eduardo.paytracker.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 
 public record RegisterRequestDTO(
@@ -10,6 +12,16 @@ public record RegisterRequestDTO(
         String email,
 
         @NotBlank
-        String password
+        String password,
+
+        String timeZone,
+
+        @Min(0) @Max(23)
+        Integer sendHour
 ) {
+
+    public RegisterRequestDTO(String name, String email, String password) {
+        this(name, email, password, null, null);
+    }
+
 }
@@ -0,0 +1,4 @@
+package com.eduardo.paytracker.dto;
+
+public record ReminderBucketDTO(String timeZone, Integer sendHour) {
+}
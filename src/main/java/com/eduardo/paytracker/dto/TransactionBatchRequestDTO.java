@@ -0,0 +1,15 @@
+package com.eduardo.paytracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TransactionBatchRequestDTO(
+        @NotEmpty @Size(max = MAX_SIZE) List<@Valid TransactionRequestDTO> transactions
+) {
+
+    public static final int MAX_SIZE = 500;
+
+}
@@ -0,0 +1,6 @@
+package com.eduardo.paytracker.dto;
+
+public record TransactionBulkResultDTO(
+        int affected
+) {
+}
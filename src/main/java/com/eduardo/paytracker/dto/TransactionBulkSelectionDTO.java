@@ -0,0 +1,27 @@
+package com.eduardo.paytracker.dto;
+
+import com.eduardo.paytracker.model.enums.TransactionType;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Which of the user's transactions a bulk operation touches: every given criterion must match, and the dueDate range
+ * is inclusive with either end left open.
+ */
+public record TransactionBulkSelectionDTO(
+        @Size(max = MAX_IDS) List<Long> ids,
+        TransactionType type,
+        LocalDate dueDateFrom,
+        LocalDate dueDateTo
+) {
+
+    public static final int MAX_IDS = 500;
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty()) && Stream.of(type, dueDateFrom, dueDateTo).allMatch(value -> value == null);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.eduardo.paytracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record TransactionBulkUpdateRequestDTO(
+        @NotNull @Valid TransactionBulkSelectionDTO selection,
+        @NotNull @Valid TransactionPatchRequestDTO changes
+) {
+}
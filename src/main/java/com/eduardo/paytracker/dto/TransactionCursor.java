@@ -0,0 +1,36 @@
+package com.eduardo.paytracker.dto;
+
+import com.eduardo.paytracker.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record TransactionCursor(LocalDate dueDate, Long id) {
+
+    public static TransactionCursor of(TransactionResponseDTO transaction) {
+        return new TransactionCursor(transaction.dueDate(), transaction.id());
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = decoded.split(":");
+
+            if (parts.length != 2) {
+                throw new InvalidCursorException();
+            }
+
+            return new TransactionCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        var raw = dueDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.eduardo.paytracker.dto;
+
+import com.eduardo.paytracker.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Optional search filters; every range is inclusive and either of its ends may be left open.
+ */
+public record TransactionFilterDTO(
+        LocalDate dueDateFrom,
+        LocalDate dueDateTo,
+        TransactionType type,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        LocalDate createdFrom,
+        LocalDate createdTo
+) {
+
+    public boolean isEmpty() {
+        return Stream.of(dueDateFrom, dueDateTo, type, minAmount, maxAmount, createdFrom, createdTo)
+                .allMatch(value -> value == null);
+    }
+
+}
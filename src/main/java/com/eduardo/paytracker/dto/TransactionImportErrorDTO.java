@@ -0,0 +1,9 @@
+package com.eduardo.paytracker.dto;
+
+import java.util.Map;
+
+public record TransactionImportErrorDTO(
+        long row,
+        Map<String, String> details
+) {
+}
@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.dto;
+
+import java.util.List;
+
+public record TransactionImportResultDTO(
+        long totalRows,
+        long importedRows,
+        long rejectedRows,
+        List<TransactionImportErrorDTO> errors
+) {
+}
@@ -0,0 +1,9 @@
+package com.eduardo.paytracker.dto;
+
+import java.util.List;
+
+public record TransactionLookupResponseDTO(
+        List<TransactionResponseDTO> content,
+        List<Long> missingIds
+) {
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.stream.Stream;
 
 public record TransactionPatchRequestDTO(
         String title,
@@ -14,4 +15,9 @@ public record TransactionPatchRequestDTO(
         @Future LocalDate dueDate,
         TransactionType type
 ) {
+
+    public boolean isEmpty() {
+        return Stream.of(title, description, amount, dueDate, type).allMatch(value -> value == null);
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.eduardo.paytracker.dto;
+
+import com.eduardo.paytracker.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public record TransactionReminderDTO(
+        Long id,
+        String title,
+        String description,
+        BigDecimal amount,
+        LocalDate dueDate,
+        TransactionType type,
+        Long userId,
+        String userName,
+        String userEmail
+) {
+
+    /**
+     * Reminder window this transaction falls in for a run on {@code runDate}: the days left until it is due.
+     */
+    public int window(LocalDate runDate) {
+        return (int) ChronoUnit.DAYS.between(runDate, dueDate);
+    }
+}
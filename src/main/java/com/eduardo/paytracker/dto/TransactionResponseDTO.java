@@ -14,12 +14,14 @@ public record TransactionResponseDTO(
         LocalDate createdAt,
         LocalDate dueDate,
         TransactionType type,
-        Long userId
+        Long userId,
+        Long version
 ) {
 
     public TransactionResponseDTO(Transaction transaction){
         this(transaction.getId(), transaction.getTitle(), transaction.getDescription(), transaction.getAmount(),
-                transaction.getCreatedAt(), transaction.getDueDate(), transaction.getType(), transaction.getUser().getId());
+                transaction.getCreatedAt(), transaction.getDueDate(), transaction.getType(), transaction.getUser().getId(),
+                transaction.getVersion());
     }
 
 }
@@ -0,0 +1,10 @@
+package com.eduardo.paytracker.dto;
+
+import java.util.List;
+
+public record TransactionSliceResponseDTO(
+        List<TransactionResponseDTO> content,
+        boolean hasNext,
+        String nextCursor
+) {
+}
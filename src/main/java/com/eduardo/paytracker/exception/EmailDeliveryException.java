@@ -0,0 +1,9 @@
+package com.eduardo.paytracker.exception;
+
+public class EmailDeliveryException extends RuntimeException {
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends BusinessException {
+
+    public InvalidCursorException() {
+        super("Invalid pagination cursor!", HttpStatus.BAD_REQUEST);
+    }
+
+}
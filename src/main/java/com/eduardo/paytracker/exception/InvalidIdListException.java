@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidIdListException extends BusinessException {
+
+    public InvalidIdListException(int maxIds) {
+        super("Between 1 and " + maxIds + " transaction ids must be requested!", HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidImportFileException extends BusinessException {
+
+    public InvalidImportFileException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+
+}
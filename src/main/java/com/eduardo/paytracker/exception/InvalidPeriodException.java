@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidPeriodException extends BusinessException {
+
+    public InvalidPeriodException() {
+        super("The start month must not be after the end month!", HttpStatus.BAD_REQUEST);
+    }
+
+}
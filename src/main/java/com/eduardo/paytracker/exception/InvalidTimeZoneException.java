@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidTimeZoneException extends BusinessException {
+
+    public InvalidTimeZoneException(String timeZone) {
+        super("Unknown time zone: " + timeZone, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.eduardo.paytracker.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TransactionVersionMismatchException extends BusinessException {
+
+    public TransactionVersionMismatchException() {
+        super("The transaction was changed since it was read!", HttpStatus.PRECONDITION_FAILED);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity(name = "MonthlyBalance")
+@Table(name = "monthly_balance")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBalance {
+
+    @EmbeddedId
+    private MonthlyBalanceKey key;
+
+    @Column(nullable = false)
+    private BigDecimal income;
+
+    @Column(nullable = false)
+    private BigDecimal expense;
+
+}
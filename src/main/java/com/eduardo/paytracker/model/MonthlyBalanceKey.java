@@ -0,0 +1,17 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.time.LocalDate;
+
+@Embeddable
+public record MonthlyBalanceKey(
+        @Column(name = "user_id", nullable = false)
+        Long userId,
+
+        // First day of the month the transactions are due in.
+        @Column(name = "month_start", nullable = false)
+        LocalDate monthStart
+) {
+}
@@ -0,0 +1,17 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Identifies the users that get their reminders at the same local hour of the same time zone.
+ */
+@Embeddable
+public record ReminderBucketKey(
+        @Column(name = "time_zone", nullable = false)
+        String timeZone,
+
+        @Column(name = "send_hour", nullable = false)
+        Integer sendHour
+) {
+}
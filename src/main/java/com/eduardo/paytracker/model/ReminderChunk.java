@@ -0,0 +1,63 @@
+package com.eduardo.paytracker.model;
+
+import com.eduardo.paytracker.model.enums.ReminderChunkStatus;
+import com.eduardo.paytracker.model.enums.ReminderMode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "ReminderChunk")
+@Table(name = "reminder_chunk")
+@Getter
+@NoArgsConstructor
+public class ReminderChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminder_chunk_seq")
+    @SequenceGenerator(name = "reminder_chunk_seq", sequenceName = "reminder_chunk_seq", allocationSize = 50)
+    private Long id;
+
+    @Embedded
+    private ReminderRunKey run;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private ReminderMode mode;
+
+    // User id range (afterId, lastId] of the run's bucket covered by this chunk.
+    @Column(name = "after_id", nullable = false)
+    private Long afterId;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private ReminderChunkStatus status;
+
+    @Column(name = "processed_by")
+    private String processedBy;
+
+    private Integer enqueued;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public ReminderChunk(ReminderRunKey run, ReminderMode mode, Long afterId, Long lastId) {
+        this.run = run;
+        this.mode = mode;
+        this.afterId = afterId;
+        this.lastId = lastId;
+        this.status = ReminderChunkStatus.PENDING;
+    }
+
+    public void complete(String processedBy, int enqueued, LocalDateTime completedAt) {
+        this.status = ReminderChunkStatus.DONE;
+        this.processedBy = processedBy;
+        this.enqueued = enqueued;
+        this.completedAt = completedAt;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Entity(name = "ReminderRun")
+@Table(name = "reminder_run")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderRun {
+
+    @EmbeddedId
+    private ReminderRunKey key;
+
+    // Days before the due date at which reminders go out, e.g. "7,2,0".
+    @Column(nullable = false)
+    private String windows;
+
+    @Column(nullable = false)
+    private Integer chunks;
+
+    @Column(name = "created_by", nullable = false)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public List<LocalDate> getDueDates() {
+        return dueDates(key.runDate(), Arrays.stream(windows.split(",")).map(String::trim).map(Integer::valueOf).toList());
+    }
+
+    public static List<LocalDate> dueDates(LocalDate runDate, List<Integer> windows) {
+        return windows.stream().distinct().map(runDate::plusDays).toList();
+    }
+
+}
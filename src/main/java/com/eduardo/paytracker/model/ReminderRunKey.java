@@ -0,0 +1,22 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies one reminder run: the users of a time zone and send hour, on a date local to that zone.
+ */
+@Embeddable
+public record ReminderRunKey(
+        @Column(name = "run_date", nullable = false)
+        LocalDate runDate,
+
+        @Column(name = "time_zone", nullable = false)
+        String timeZone,
+
+        @Column(name = "send_hour", nullable = false)
+        Integer sendHour
+) {
+}
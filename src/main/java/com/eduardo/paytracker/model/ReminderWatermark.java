@@ -0,0 +1,28 @@
+package com.eduardo.paytracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity(name = "ReminderWatermark")
+@Table(name = "reminder_watermark")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderWatermark {
+
+    @EmbeddedId
+    private ReminderBucketKey bucket;
+
+    // Every run up to this local date has all of its chunks done.
+    @Column(name = "last_run_date", nullable = false)
+    private LocalDate lastRunDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
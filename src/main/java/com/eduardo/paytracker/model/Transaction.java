@@ -1,6 +1,5 @@
 package com.eduardo.paytracker.model;
 
-import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
 import com.eduardo.paytracker.dto.TransactionRequestDTO;
 import com.eduardo.paytracker.model.enums.TransactionType;
 import jakarta.persistence.*;
@@ -20,7 +19,8 @@ import java.time.LocalDate;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,24 +47,21 @@ public class Transaction {
     @Setter
     private TransactionType type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    public void updateFrom(TransactionRequestDTO data) {
-        this.title = data.title();
-        this.description = data.description();
-        this.amount = data.amount();
-        this.dueDate = data.dueDate();
-        this.type = data.type();
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Transaction(Long id, String title, String description, BigDecimal amount, LocalDate createdAt,
+                       LocalDate dueDate, TransactionType type, User user) {
+        this(id, title, description, amount, createdAt, dueDate, type, user, null);
     }
 
-    public void updateFromPatch(TransactionPatchRequestDTO data) {
-        if (data.title() != null) this.title = data.title();
-        if (data.description() != null) this.description = data.description();
-        if (data.amount() != null) this.amount = data.amount();
-        if (data.dueDate() != null) this.dueDate = data.dueDate();
-        if (data.type() != null) this.type = data.type();
+    public Transaction(TransactionRequestDTO data, LocalDate createdAt, User user) {
+        this(null, data.title(), data.description(), data.amount(), createdAt, data.dueDate(), data.type(), user);
     }
 
 }
@@ -17,6 +17,9 @@ import java.util.List;
 @AllArgsConstructor
 public class User implements UserDetails {
 
+    public static final String DEFAULT_TIME_ZONE = "America/Sao_Paulo";
+    public static final int DEFAULT_SEND_HOUR = 17;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,6 +27,32 @@ public class User implements UserDetails {
     private String email;
     private String password;
 
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
+    // Reminders are sent once the user's local clock reaches sendHour.
+    @Column(name = "time_zone", nullable = false)
+    private String timeZone = DEFAULT_TIME_ZONE;
+
+    @Column(name = "send_hour", nullable = false)
+    private Integer sendHour = DEFAULT_SEND_HOUR;
+
+    @Column(name = "transactions_version", nullable = false)
+    private Long transactionsVersion = 0L;
+
+    public User(Long id, String name, String email, String password) {
+        this(id, name, email, password, 0);
+    }
+
+    public User(Long id, String name, String email, String password, Integer tokenVersion) {
+        this(id, name, email, password, tokenVersion, DEFAULT_TIME_ZONE, DEFAULT_SEND_HOUR);
+    }
+
+    public User(Long id, String name, String email, String password, Integer tokenVersion, String timeZone,
+                Integer sendHour) {
+        this(id, name, email, password, tokenVersion, timeZone, sendHour, 0L);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
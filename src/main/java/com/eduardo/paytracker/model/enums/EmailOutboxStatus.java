@@ -0,0 +1,7 @@
+package com.eduardo.paytracker.model.enums;
+
+public enum EmailOutboxStatus {
+
+    PENDING, SENT, FAILED;
+
+}
@@ -0,0 +1,29 @@
+package com.eduardo.paytracker.model.enums;
+
+import com.eduardo.paytracker.exception.InvalidImportFileException;
+
+import java.util.Arrays;
+
+public enum ImportFormat {
+
+    CSV("csv"),
+    OFX("ofx");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ImportFormat fromFilename(String filename) {
+        return Arrays.stream(values())
+                .filter(format -> filename != null && filename.toLowerCase().endsWith("." + format.extension))
+                .findFirst()
+                .orElseThrow(() -> new InvalidImportFileException("Unsupported file type! Accepted values: CSV, OFX"));
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.EmailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxClaimRepository {
+
+    // Rows locked by another worker are skipped instead of waited on, so concurrent workers claim disjoint batches.
+    List<EmailOutbox> lockDueMessages(LocalDateTime now, int limit);
+
+}
@@ -0,0 +1,39 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.utils.DialectUtil;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * PostgreSQL claims the messages that have waited longest first, reading idx_email_outbox_status_next_attempt_id in
+ * order, so retries and old rows are not left behind by newer ones. H2 (the tests) applies the row limit before it
+ * skips locked rows when the query is ordered, which would hand a second worker an empty batch, so there the order is
+ * left to the database.
+ */
+@RequiredArgsConstructor
+public class EmailOutboxClaimRepositoryImpl implements EmailOutboxClaimRepository {
+
+    private static final String DUE = "select * from email_outbox where status = 'PENDING' and next_attempt_at <= :now ";
+
+    private static final String OLDEST_FIRST = "order by next_attempt_at, id ";
+
+    private static final String CLAIM = "fetch first :limit rows only for update skip locked";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EmailOutbox> lockDueMessages(LocalDateTime now, int limit) {
+        var sql = DUE + (DialectUtil.isPostgreSQL(entityManager) ? OLDEST_FIRST : "") + CLAIM;
+
+        return entityManager.unwrap(Session.class).createNativeQuery(sql, EmailOutbox.class)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long>, EmailOutboxClaimRepository {
+
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox o set o.status = 'SENT', o.sentAt = :sentAt, o.lastError = null where o.id in :ids")
+    void markSent(List<Long> ids, LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox o set o.nextAttemptAt = :nextAttemptAt, o.lastError = :error where o.id = :id")
+    void reschedule(Long id, LocalDateTime nextAttemptAt, String error);
+
+    @Transactional
+    @Modifying
+    @Query("update EmailOutbox o set o.status = 'FAILED', o.lastError = :error where o.id = :id")
+    void markFailed(Long id, String error);
+
+    // Finished rows only. next_attempt_at of a finished row is the end of the lease of its last claim, so it dates the
+    // send or the last failed attempt within a lease, and the status-led index serves each range. Deleted a batch at a
+    // time so one purge never holds a long transaction over the table.
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            delete from email_outbox where id in (
+                select id from email_outbox
+                where status in ('SENT', 'FAILED') and next_attempt_at < :cutoff
+                fetch first :limit rows only
+            )
+            """)
+    int deleteFinishedBefore(LocalDateTime cutoff, int limit);
+
+}
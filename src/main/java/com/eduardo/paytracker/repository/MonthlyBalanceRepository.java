@@ -0,0 +1,23 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.MonthlyBalanceDTO;
+import com.eduardo.paytracker.model.MonthlyBalance;
+import com.eduardo.paytracker.model.MonthlyBalanceKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MonthlyBalanceRepository extends JpaRepository<MonthlyBalance, MonthlyBalanceKey>,
+        MonthlyBalanceWriteRepository {
+
+    @Query("""
+            select new com.eduardo.paytracker.dto.MonthlyBalanceDTO(b.key.monthStart, b.income, b.expense)
+            from MonthlyBalance b
+            where b.key.userId = :userId and b.key.monthStart between :from and :to
+            order by b.key.monthStart
+            """)
+    List<MonthlyBalanceDTO> findMonthlyBalances(Long userId, LocalDate from, LocalDate to);
+
+}
@@ -0,0 +1,12 @@
+package com.eduardo.paytracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface MonthlyBalanceWriteRepository {
+
+    // Adds the deltas in the database, so concurrent writes to the same month never overwrite each other, including
+    // two first writes racing to create the month.
+    void addToMonth(Long userId, LocalDate monthStart, BigDecimal income, BigDecimal expense);
+
+}
@@ -0,0 +1,61 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.utils.DialectUtil;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * PostgreSQL resolves a racing first write with {@code ON CONFLICT DO UPDATE}: the loser waits for the winner's row and
+ * then adds to it. {@code MERGE} gives no such guarantee, since both writers can take the NOT MATCHED branch. H2 (the
+ * tests) has no {@code DO UPDATE}, so there the loser's failed insert, which H2 rolls back on its own without aborting
+ * the transaction, is followed by an update of the winner's row.
+ */
+@RequiredArgsConstructor
+public class MonthlyBalanceWriteRepositoryImpl implements MonthlyBalanceWriteRepository {
+
+    private static final String UPSERT = """
+            insert into monthly_balance (user_id, month_start, income, expense) values (?, ?, ?, ?)
+            on conflict (user_id, month_start) do update
+            set income = monthly_balance.income + excluded.income, expense = monthly_balance.expense + excluded.expense
+            """;
+
+    private static final String MERGE = """
+            merge into monthly_balance b
+            using (values (cast(? as bigint), cast(? as date), cast(? as decimal(19, 2)), cast(? as decimal(19, 2))))
+                as d (user_id, month_start, income, expense)
+            on b.user_id = d.user_id and b.month_start = d.month_start
+            when matched then
+                update set income = b.income + d.income, expense = b.expense + d.expense
+            when not matched then
+                insert (user_id, month_start, income, expense)
+                values (d.user_id, d.month_start, d.income, d.expense)
+            """;
+
+    private static final String ADD = """
+            update monthly_balance set income = income + ?, expense = expense + ?
+            where user_id = ? and month_start = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void addToMonth(Long userId, LocalDate monthStart, BigDecimal income, BigDecimal expense) {
+        if (DialectUtil.isPostgreSQL(entityManager)) {
+            jdbcTemplate.update(UPSERT, userId, monthStart, income, expense);
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(MERGE, userId, monthStart, income, expense);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(ADD, income, expense, userId, monthStart);
+        }
+    }
+
+}
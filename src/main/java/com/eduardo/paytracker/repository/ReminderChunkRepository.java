@@ -0,0 +1,28 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.ReminderChunk;
+import com.eduardo.paytracker.model.ReminderRunKey;
+import com.eduardo.paytracker.model.enums.ReminderChunkStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReminderChunkRepository extends JpaRepository<ReminderChunk, Long> {
+
+    // Chunks locked by another node are skipped, so every node works on a different chunk until none is left.
+    @Query(nativeQuery = true, value = """
+            select * from reminder_chunk
+            where run_date = :runDate and time_zone = :timeZone and send_hour = :sendHour and status = 'PENDING'
+            fetch first 1 rows only
+            for update skip locked
+            """)
+    Optional<ReminderChunk> lockNextPending(LocalDate runDate, String timeZone, Integer sendHour);
+
+    List<ReminderChunk> findByRun(ReminderRunKey run);
+
+    long countByRunAndStatus(ReminderRunKey run, ReminderChunkStatus status);
+
+}
@@ -0,0 +1,23 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.ReminderRun;
+import com.eduardo.paytracker.model.ReminderRunKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ReminderRunRepository extends JpaRepository<ReminderRun, ReminderRunKey> {
+
+    // A plain insert rather than save(): merge would turn a lost race into an update of the other node's run.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into reminder_run (run_date, time_zone, send_hour, windows, chunks, created_by, created_at)
+            values (:runDate, :timeZone, :sendHour, :windows, :chunks, :createdBy, :createdAt)
+            """)
+    void insertRun(LocalDate runDate, String timeZone, Integer sendHour, String windows, int chunks, String createdBy,
+                   LocalDateTime createdAt);
+
+}
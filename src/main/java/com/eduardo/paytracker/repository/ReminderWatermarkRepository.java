@@ -0,0 +1,29 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.model.ReminderBucketKey;
+import com.eduardo.paytracker.model.ReminderWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ReminderWatermarkRepository extends JpaRepository<ReminderWatermark, ReminderBucketKey> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into reminder_watermark (time_zone, send_hour, last_run_date, updated_at)
+            values (:timeZone, :sendHour, :lastRunDate, :updatedAt)
+            """)
+    void insertWatermark(String timeZone, Integer sendHour, LocalDate lastRunDate, LocalDateTime updatedAt);
+
+    // Only moves from the day before, so two nodes finishing different dates can never skip one in between.
+    @Modifying
+    @Query("""
+            update ReminderWatermark w set w.lastRunDate = :runDate, w.updatedAt = :updatedAt
+            where w.bucket = :bucket and w.lastRunDate = :previousRunDate
+            """)
+    int advance(ReminderBucketKey bucket, LocalDate previousRunDate, LocalDate runDate, LocalDateTime updatedAt);
+
+}
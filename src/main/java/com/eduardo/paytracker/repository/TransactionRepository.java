@@ -1,22 +1,93 @@
 package com.eduardo.paytracker.repository;
 
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
 import com.eduardo.paytracker.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository,
+        TransactionWriteRepository {
 
-    @Query("select t from Transaction t where t.user.id = :userId")
-    Page<Transaction> findAllTransactions(Long userId, Pageable pageable);
+    int EXPORT_FETCH_SIZE = 1000;
+
+    String RESPONSE_PROJECTION = """
+            select new com.eduardo.paytracker.dto.TransactionResponseDTO(
+                t.id, t.title, t.description, t.amount, t.createdAt, t.dueDate, t.type, t.user.id, t.version)
+            from Transaction t
+            """;
+
+    @Query(value = RESPONSE_PROJECTION + "where t.user.id = :userId",
+            countQuery = "select count(t) from Transaction t where t.user.id = :userId")
+    Page<TransactionResponseDTO> findAllTransactions(Long userId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "where t.user.id = :userId order by t.dueDate, t.id")
+    Slice<TransactionResponseDTO> findFirstTransactionsSlice(Long userId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+            where t.user.id = :userId and (t.dueDate, t.id) > (:dueDate, :transactionId)
+            order by t.dueDate, t.id
+            """)
+    Slice<TransactionResponseDTO> findTransactionsSliceAfter(Long userId, LocalDate dueDate, Long transactionId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "where t.id = :transactionId and t.user.id = :userId")
+    TransactionResponseDTO findTransactionResponseById(Long userId, Long transactionId);
+
+    @Query(RESPONSE_PROJECTION + "where t.id in :transactionIds and t.user.id = :userId")
+    List<TransactionResponseDTO> findTransactionResponsesByIds(Long userId, Collection<Long> transactionIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "where t.user.id = :userId order by t.dueDate, t.id")
+    Stream<TransactionResponseDTO> streamAllTransactions(Long userId);
 
     @Query("select t from Transaction t where t.id = :transactionId and t.user.id = :userId")
     Transaction findTransactionById(Long userId, Long transactionId);
 
-    List<Transaction> findByDueDate(LocalDate dueDate);
+    boolean existsByIdAndUserId(Long transactionId, Long userId);
+
+    // Starts from the bucket's users on idx_users_time_zone_send_hour_id and probes their due transactions on
+    // idx_transactions_user_due_date_id. Ordered by user so a digest is cut whenever the user changes.
+    @Query("""
+            select new com.eduardo.paytracker.dto.TransactionReminderDTO(
+                t.id, t.title, t.description, t.amount, t.dueDate, t.type, u.id, u.name, u.email)
+            from Transaction t join t.user u
+            where u.timeZone = :timeZone and u.sendHour = :sendHour
+              and u.id > :afterUserId and u.id <= :lastUserId
+              and t.dueDate in :dueDates
+            order by u.id, t.dueDate, t.id
+            """)
+    List<TransactionReminderDTO> findRemindersByUserRange(String timeZone, Integer sendHour,
+                                                          Collection<LocalDate> dueDates,
+                                                          Long afterUserId, Long lastUserId);
+
+    @Query("""
+            select distinct u.id from Transaction t join t.user u
+            where u.timeZone = :timeZone and u.sendHour = :sendHour and u.id > :afterUserId
+              and t.dueDate in :dueDates
+            order by u.id
+            """)
+    List<Long> findDueUserIds(String timeZone, Integer sendHour, Collection<LocalDate> dueDates, Long afterUserId,
+                              Pageable pageable);
+
+    @Query("""
+            select max(u.id) from Transaction t join t.user u
+            where u.timeZone = :timeZone and u.sendHour = :sendHour and u.id > :afterUserId
+              and t.dueDate in :dueDates
+            """)
+    Long findLastDueUserId(String timeZone, Integer sendHour, Collection<LocalDate> dueDates, Long afterUserId);
 
 }
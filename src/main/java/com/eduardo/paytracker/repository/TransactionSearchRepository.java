@@ -0,0 +1,14 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TransactionSearchRepository {
+
+    // Selects straight into the response DTO, so a search never loads, snapshots or dirty-checks the entities it lists.
+    Page<TransactionResponseDTO> searchTransactions(Specification<Transaction> specification, Pageable pageable);
+
+}
@@ -0,0 +1,49 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+@RequiredArgsConstructor
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<TransactionResponseDTO> searchTransactions(Specification<Transaction> specification, Pageable pageable) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(TransactionResponseDTO.class);
+        var root = query.from(Transaction.class);
+
+        query.select(builder.construct(TransactionResponseDTO.class,
+                        root.get("id"), root.get("title"), root.get("description"), root.get("amount"),
+                        root.get("createdAt"), root.get("dueDate"), root.get("type"), root.get("user").get("id"),
+                        root.get("version")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        // Skips the count when the page alone tells the total, e.g. a first page that is not full.
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Transaction> specification) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Long.class);
+        var root = query.from(Transaction.class);
+
+        query.select(builder.count(root)).where(specification.toPredicate(root, query, builder));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.model.Transaction;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds transaction searches out of the filters that were actually sent. Every search starts with the user id, so
+ * it always runs on one of the transactions indexes led by user_id:
+ * <ul>
+ *     <li>dueDate range: idx_transactions_user_due_date_id</li>
+ *     <li>type, alone or with a dueDate range: idx_transactions_user_type_due_date_id</li>
+ *     <li>amount range: idx_transactions_user_amount</li>
+ *     <li>createdAt range: idx_transactions_user_created_at</li>
+ * </ul>
+ * With several filters the planner seeks on one of them and checks the rest on the user's rows only.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(Long userId, TransactionFilterDTO filter) {
+        return (root, query, builder) -> {
+            var predicates = new ArrayList<Predicate>();
+            predicates.add(builder.equal(root.get("user").get("id"), userId));
+
+            if (filter.type() != null) {
+                predicates.add(builder.equal(root.get("type"), filter.type()));
+            }
+            between(predicates, builder, root.get("dueDate"), filter.dueDateFrom(), filter.dueDateTo());
+            between(predicates, builder, root.get("amount"), filter.minAmount(), filter.maxAmount());
+            between(predicates, builder, root.get("createdAt"), filter.createdFrom(), filter.createdTo());
+
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static <T extends Comparable<? super T>> void between(List<Predicate> predicates, CriteriaBuilder builder,
+                                                                  Path<T> path, T from, T to) {
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(builder.lessThanOrEqualTo(path, to));
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ownership-scoped writes that run as a single statement: the rows are matched on user and id (or a bulk selection),
+ * changed, and handed back without being loaded first. An empty result means no row of that user matched (and, for
+ * single updates, had the expected version). Bulk writes hand back per-month totals instead of rows, so what they
+ * return stays small however many rows they touch.
+ */
+public interface TransactionWriteRepository {
+
+    // Null fields of the patch keep their current value; a null expectedVersion updates whatever version is stored.
+    Optional<TransactionUpdate> updateTransaction(Long userId, Long transactionId, TransactionPatchRequestDTO data,
+                                                  Long expectedVersion);
+
+    Optional<TransactionResponseDTO> deleteTransaction(Long userId, Long transactionId);
+
+    BulkWrite updateTransactions(Long userId, TransactionBulkSelectionDTO selection, TransactionPatchRequestDTO data);
+
+    BulkWrite deleteTransactions(Long userId, TransactionBulkSelectionDTO selection);
+
+    record TransactionUpdate(TransactionResponseDTO previous, TransactionResponseDTO current) {
+    }
+
+    // The written rows summed per due month and type, as they were before the write and, for updates, after it.
+    record BulkWrite(List<MonthTotal> previous, List<MonthTotal> current) {
+
+        public int count() {
+            return (int) previous.stream().mapToLong(MonthTotal::count).sum();
+        }
+    }
+
+    record MonthTotal(LocalDate monthStart, TransactionType type, BigDecimal amount, long count) {
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.utils.DialectUtil;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * PostgreSQL hands the rows back with {@code RETURNING}; other databases (H2 in the tests) read them from the
+ * {@code OLD TABLE} of the data change statement. Both return the rows as they were before the write, which is what
+ * the monthly balance needs to take them out of their months. Bulk writes sum those rows per month in the same
+ * statement, so only one row per month and type comes back.
+ */
+@RequiredArgsConstructor
+public class TransactionWriteRepositoryImpl implements TransactionWriteRepository {
+
+    private static final String COLUMNS = "id, title, description, amount, created_at, due_date, type, user_id, version";
+
+    private static final String PREVIOUS_COLUMNS = """
+            previous.id, previous.title, previous.description, previous.amount, previous.created_at,
+                previous.due_date, previous.type, previous.user_id, previous.version
+            """;
+
+    private static final String SET_PATCH = """
+            set title = coalesce(:title, t.title), description = coalesce(:description, t.description),
+                amount = coalesce(:amount, t.amount), due_date = coalesce(:dueDate, t.due_date),
+                type = coalesce(:type, t.type), version = t.version + 1
+            """;
+
+    private static final String OWNED_ROW = "id = :transactionId and user_id = :userId";
+
+    private static final String MATCHES_VERSION = "(:expectedVersion is null or version = :expectedVersion)";
+
+    private static final String DELETED_TOTALS = """
+            select cast(date_trunc('month', p.due_date) as date) as month_start, p.type as month_type,
+                sum(p.amount) as amount, count(*) as row_count, true as previous
+            from %s p
+            group by month_start, month_type
+            """;
+
+    // Each written row once as it was and once with the patch applied, mirroring the coalescing of SET_PATCH. H2
+    // rejects parameters around a delta table nested in a subquery, so the rows are grouped right where they come
+    // out; PostgreSQL groups an ambiguous name by the input column, hence month_type rather than type.
+    private static final String UPDATED_TOTALS = """
+            select cast(date_trunc('month', case when side.previous then p.due_date
+                    else coalesce(:dueDate, p.due_date) end) as date) as month_start,
+                case when side.previous then p.type else coalesce(:type, p.type) end as month_type,
+                sum(case when side.previous then p.amount
+                    else coalesce(cast(:amount as decimal(19, 2)), p.amount) end) as amount,
+                count(*) as row_count, side.previous as previous
+            from %s p
+            cross join (values (true), (false)) side(previous)
+            group by previous, month_start, month_type
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<TransactionUpdate> updateTransaction(Long userId, Long transactionId, TransactionPatchRequestDTO data,
+                                                         Long expectedVersion) {
+        var query = writeQuery(updateSql(OWNED_ROW + " and " + MATCHES_VERSION), data)
+                .setParameter("transactionId", transactionId)
+                .setParameter("userId", userId)
+                .setParameter("expectedVersion", expectedVersion, StandardBasicTypes.LONG);
+
+        return rows(query).stream().findFirst().map(previous -> new TransactionUpdate(previous, patched(previous, data)));
+    }
+
+    @Override
+    public Optional<TransactionResponseDTO> deleteTransaction(Long userId, Long transactionId) {
+        var query = writeQuery(deleteSql(OWNED_ROW))
+                .setParameter("transactionId", transactionId)
+                .setParameter("userId", userId);
+
+        return rows(query).stream().findFirst();
+    }
+
+    @Override
+    public BulkWrite updateTransactions(Long userId, TransactionBulkSelectionDTO selection,
+                                        TransactionPatchRequestDTO data) {
+        var predicate = selectionPredicate(selection);
+        String sql;
+        if (supportsReturning()) {
+            sql = "with written as (update transactions t " + SET_PATCH
+                    + "from (select * from transactions where " + predicate + " order by id for update) previous "
+                    + "where t.id = previous.id returning previous.due_date, previous.type, previous.amount) "
+                    + UPDATED_TOTALS.formatted("written");
+        } else {
+            sql = UPDATED_TOTALS.formatted("old table (update transactions t " + SET_PATCH + "where " + predicate + ")");
+        }
+
+        return bulkWrite(bindPatch(bindSelection(totalsQuery(sql), userId, selection), data));
+    }
+
+    @Override
+    public BulkWrite deleteTransactions(Long userId, TransactionBulkSelectionDTO selection) {
+        var predicate = selectionPredicate(selection);
+        String sql;
+        if (supportsReturning()) {
+            sql = "with written as (delete from transactions where " + predicate + " returning due_date, type, amount) "
+                    + DELETED_TOTALS.formatted("written");
+        } else {
+            sql = DELETED_TOTALS.formatted("old table (delete from transactions where " + predicate + ")");
+        }
+
+        return bulkWrite(bindSelection(totalsQuery(sql), userId, selection));
+    }
+
+    // Locking the rows in the subquery makes "previous" the version each update replaces, even under concurrent
+    // writes; locking them in id order keeps two bulk updates of the same user from deadlocking. The bulk update
+    // locks the same way.
+    private String updateSql(String predicate) {
+        if (supportsReturning()) {
+            return "update transactions t " + SET_PATCH
+                    + "from (select * from transactions where " + predicate + " order by id for update) previous "
+                    + "where t.id = previous.id returning " + PREVIOUS_COLUMNS;
+        }
+        return "select " + COLUMNS + " from old table (update transactions t " + SET_PATCH + "where " + predicate + ")";
+    }
+
+    private String deleteSql(String predicate) {
+        if (supportsReturning()) {
+            return "delete from transactions where " + predicate + " returning " + COLUMNS;
+        }
+        return "select " + COLUMNS + " from old table (delete from transactions where " + predicate + ")";
+    }
+
+    private String selectionPredicate(TransactionBulkSelectionDTO selection) {
+        var conditions = new ArrayList<String>();
+        conditions.add("user_id = :userId");
+        if (selection.ids() != null && !selection.ids().isEmpty()) {
+            conditions.add("id in (:ids)");
+        }
+        if (selection.type() != null) {
+            conditions.add("type = :selectedType");
+        }
+        if (selection.dueDateFrom() != null) {
+            conditions.add("due_date >= :dueDateFrom");
+        }
+        if (selection.dueDateTo() != null) {
+            conditions.add("due_date <= :dueDateTo");
+        }
+        return String.join(" and ", conditions);
+    }
+
+    private NativeQuery<Object[]> bindSelection(NativeQuery<Object[]> query, Long userId,
+                                                TransactionBulkSelectionDTO selection) {
+        query.setParameter("userId", userId);
+        if (selection.ids() != null && !selection.ids().isEmpty()) {
+            query.setParameterList("ids", selection.ids());
+        }
+        if (selection.type() != null) {
+            query.setParameter("selectedType", selection.type().name());
+        }
+        if (selection.dueDateFrom() != null) {
+            query.setParameter("dueDateFrom", selection.dueDateFrom());
+        }
+        if (selection.dueDateTo() != null) {
+            query.setParameter("dueDateTo", selection.dueDateTo());
+        }
+        return query;
+    }
+
+    private NativeQuery<Object[]> totalsQuery(String sql) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql, Object[].class)
+                .addSynchronizedEntityClass(Transaction.class)
+                .addScalar("month_start", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("month_type", StandardBasicTypes.STRING)
+                .addScalar("amount", StandardBasicTypes.BIG_DECIMAL)
+                .addScalar("row_count", StandardBasicTypes.LONG)
+                .addScalar("previous", StandardBasicTypes.BOOLEAN);
+    }
+
+    private BulkWrite bulkWrite(NativeQuery<Object[]> query) {
+        var previous = new ArrayList<MonthTotal>();
+        var current = new ArrayList<MonthTotal>();
+
+        for (var row : query.getResultList()) {
+            var total = new MonthTotal((LocalDate) row[0], TransactionType.valueOf((String) row[1]),
+                    (BigDecimal) row[2], (Long) row[3]);
+            ((Boolean) row[4] ? previous : current).add(total);
+        }
+        return new BulkWrite(previous, current);
+    }
+
+    private NativeQuery<Object[]> writeQuery(String sql, TransactionPatchRequestDTO data) {
+        return bindPatch(writeQuery(sql), data);
+    }
+
+    private NativeQuery<Object[]> bindPatch(NativeQuery<Object[]> query, TransactionPatchRequestDTO data) {
+        return query
+                .setParameter("title", data.title(), StandardBasicTypes.STRING)
+                .setParameter("description", data.description(), StandardBasicTypes.STRING)
+                .setParameter("amount", data.amount(), StandardBasicTypes.BIG_DECIMAL)
+                .setParameter("dueDate", data.dueDate(), StandardBasicTypes.LOCAL_DATE)
+                .setParameter("type", data.type() != null ? data.type().name() : null, StandardBasicTypes.STRING);
+    }
+
+    private NativeQuery<Object[]> writeQuery(String sql) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql, Object[].class)
+                .addSynchronizedEntityClass(Transaction.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("description", StandardBasicTypes.STRING)
+                .addScalar("amount", StandardBasicTypes.BIG_DECIMAL)
+                .addScalar("created_at", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("due_date", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("type", StandardBasicTypes.STRING)
+                .addScalar("user_id", StandardBasicTypes.LONG)
+                .addScalar("version", StandardBasicTypes.LONG);
+    }
+
+    private List<TransactionResponseDTO> rows(NativeQuery<Object[]> query) {
+        return query.getResultList().stream()
+                .map(row -> new TransactionResponseDTO((Long) row[0], (String) row[1], (String) row[2],
+                        (BigDecimal) row[3], (LocalDate) row[4], (LocalDate) row[5],
+                        TransactionType.valueOf((String) row[6]), (Long) row[7], (Long) row[8]))
+                .toList();
+    }
+
+    // Same coalescing as the SET clause, so the result matches what was written without reading the row again.
+    private TransactionResponseDTO patched(TransactionResponseDTO previous, TransactionPatchRequestDTO data) {
+        return new TransactionResponseDTO(previous.id(),
+                Objects.requireNonNullElse(data.title(), previous.title()),
+                Objects.requireNonNullElse(data.description(), previous.description()),
+                Objects.requireNonNullElse(data.amount(), previous.amount()),
+                previous.createdAt(),
+                Objects.requireNonNullElse(data.dueDate(), previous.dueDate()),
+                Objects.requireNonNullElse(data.type(), previous.type()),
+                previous.userId(),
+                previous.version() + 1);
+    }
+
+    private boolean supportsReturning() {
+        return DialectUtil.isPostgreSQL(entityManager);
+    }
+
+}
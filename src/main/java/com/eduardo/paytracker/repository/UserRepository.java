@@ -1,11 +1,39 @@
 package com.eduardo.paytracker.repository;
 
+import com.eduardo.paytracker.dto.ReminderBucketDTO;
 import com.eduardo.paytracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     UserDetails findByEmail(String username);
 
+    @Query("select distinct new com.eduardo.paytracker.dto.ReminderBucketDTO(u.timeZone, u.sendHour) from User u")
+    List<ReminderBucketDTO> findReminderBuckets();
+
+    @Query("select u.tokenVersion from User u where u.id = :userId")
+    Optional<Integer> findTokenVersion(Long userId);
+
+    // Commits on its own, so every token issued before it is rejected as soon as this returns.
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :userId")
+    void incrementTokenVersion(Long userId);
+
+    @Query("select u.transactionsVersion from User u where u.id = :userId")
+    Optional<Long> findTransactionsVersion(Long userId);
+
+    // Runs in the same transaction as the write it tracks, so the list ETag never runs ahead of the data. The row lock
+    // it takes is held until commit, which also serialises concurrent writes of the same user.
+    @Modifying
+    @Query("update User u set u.transactionsVersion = u.transactionsVersion + 1 where u.id = :userId")
+    void incrementTransactionsVersion(Long userId);
+
 }
@@ -0,0 +1,119 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.model.enums.EmailOutboxStatus;
+import com.eduardo.paytracker.service.EmailOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailDeliveryWorker {
+
+    private final EmailOutboxService emailOutboxService;
+
+    private final ExecutorService emailDeliveryExecutor;
+
+    @Value("${api.email.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${api.email.outbox.workers:20}")
+    private int workers;
+
+    @Value("${api.email.smtp.batch-size:50}")
+    private int smtpBatchSize;
+
+    private final LongAdder totalSent = new LongAdder();
+    private final LongAdder totalRetried = new LongAdder();
+    private final LongAdder totalFailed = new LongAdder();
+
+    @Scheduled(fixedDelayString = "${api.email.outbox.poll-interval:5000}")
+    public void deliverPending() {
+        drain();
+    }
+
+    @Scheduled(cron = "${api.email.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeFinished() {
+        var deleted = emailOutboxService.purgeFinished(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} finished e-mails from the outbox", deleted);
+        }
+    }
+
+    /**
+     * Claims due messages batch by batch until none are left and hands them to delivery threads in groups of
+     * {@code smtpBatchSize}, each group sent over a reused SMTP session. At most {@code workers} groups are in
+     * flight, which also caps the number of open SMTP connections. Returns once every group has been delivered.
+     */
+    public long drain() {
+        var permits = new Semaphore(workers);
+        var claimedTotal = 0L;
+
+        List<EmailOutbox> claimed;
+
+        do {
+            claimed = emailOutboxService.claim(batchSize);
+            claimedTotal += claimed.size();
+
+            for (int from = 0; from < claimed.size(); from += smtpBatchSize) {
+                var group = claimed.subList(from, Math.min(from + smtpBatchSize, claimed.size()));
+
+                permits.acquireUninterruptibly();
+                emailDeliveryExecutor.execute(() -> {
+                    try {
+                        var outcomes = emailOutboxService.deliver(group);
+                        for (int i = 0; i < group.size(); i++) {
+                            record(group.get(i), outcomes.get(i));
+                        }
+                    } catch (RuntimeException e) {
+                        // Rows stay claimed until their lease expires and are then picked up again.
+                        log.error("Delivery of {} e-mails failed unexpectedly", group.size(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } while (claimed.size() == batchSize);
+
+        // Every permit back means every group of this drain has finished.
+        permits.acquireUninterruptibly(workers);
+        return claimedTotal;
+    }
+
+    public long getTotalSent() {
+        return totalSent.sum();
+    }
+
+    public long getTotalRetried() {
+        return totalRetried.sum();
+    }
+
+    public long getTotalFailed() {
+        return totalFailed.sum();
+    }
+
+    private void record(EmailOutbox message, EmailOutboxStatus outcome) {
+        switch (outcome) {
+            case SENT -> totalSent.increment();
+            case PENDING -> {
+                totalRetried.increment();
+                log.warn("E-mail {} failed on attempt {}, retry scheduled", message.getId(), message.getAttempts());
+            }
+            case FAILED -> {
+                totalFailed.increment();
+                log.error("E-mail {} gave up after {} attempts", message.getId(), message.getAttempts());
+            }
+        }
+    }
+
+}
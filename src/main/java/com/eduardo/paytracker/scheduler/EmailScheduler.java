@@ -1,30 +1,122 @@
 package com.eduardo.paytracker.scheduler;
 
-import com.eduardo.paytracker.model.Transaction;
-import com.eduardo.paytracker.repository.TransactionRepository;
-import com.eduardo.paytracker.service.EmailService;
+import com.eduardo.paytracker.model.ReminderRunKey;
+import com.eduardo.paytracker.service.ReminderChunkResult;
+import com.eduardo.paytracker.service.ReminderRunService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EmailScheduler {
 
-    private final TransactionRepository transactionRepository;
-    private final EmailService emailService;
+    private final ReminderRunService reminderRunService;
 
-    @Scheduled(cron = "0 45 17 * * *")
+    private final LongAdder totalScanned = new LongAdder();
+    private final LongAdder totalEnqueued = new LongAdder();
+    private final AtomicReference<ReminderRunStats> lastRun = new AtomicReference<>();
+
+    @Scheduled(cron = "${api.reminders.cron:0 */5 * * * *}")
     public void checkExpiringTransactions() {
-        LocalDate date = LocalDate.now().plusDays(2);
-        List<Transaction> transactions = transactionRepository.findByDueDate(date);
+        enqueueDueRuns(Instant.now());
+    }
+
+    /**
+     * Processes only the time zone / send hour buckets whose local send time has arrived and that still have work,
+     * so reminders go out across the day instead of in one burst, plus any date a bucket missed while no node was up.
+     */
+    public List<ReminderRunStats> enqueueDueRuns(Instant now) {
+        var stats = new ArrayList<ReminderRunStats>();
+
+        for (var run : reminderRunService.findDueRuns(now)) {
+            // A bucket that keeps failing must not starve the buckets after it; its watermark stays put, so it is
+            // retried on the next tick.
+            try {
+                stats.add(enqueueReminders(run));
+            } catch (RuntimeException e) {
+                log.error("Reminder run for {} {}h on {} failed", run.timeZone(), run.sendHour(), run.runDate(), e);
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * Every node fires this at the same time: one of them plans the run into chunks, then all of them claim chunks
+     * with SKIP LOCKED until none is left, so each due transaction is enqueued once however many nodes run. A run
+     * covers every reminder window (api.reminders.windows days ahead of its local date) in one pass.
+     */
+    public ReminderRunStats enqueueReminders(ReminderRunKey run) {
+        var start = System.nanoTime();
+        var scanned = 0L;
+        var enqueued = 0L;
+
+        plan(run);
+
+        Optional<ReminderChunkResult> chunk;
+        while ((chunk = reminderRunService.processNextChunk(run)).isPresent()) {
+            scanned += chunk.get().scanned();
+            enqueued += chunk.get().enqueued();
+        }
+
+        advanceWatermark(run);
+
+        var stats = new ReminderRunStats(run, scanned, enqueued, Duration.ofNanos(System.nanoTime() - start));
+        record(stats);
+        return stats;
+    }
+
+    public long getTotalScanned() {
+        return totalScanned.sum();
+    }
+
+    public long getTotalEnqueued() {
+        return totalEnqueued.sum();
+    }
+
+    public ReminderRunStats getLastRun() {
+        return lastRun.get();
+    }
 
-        for (Transaction transaction : transactions) {
-            emailService.sendEmail(transaction);
+    private void plan(ReminderRunKey run) {
+        try {
+            if (reminderRunService.plan(run)) {
+                log.info("Planned reminder run for {} {}h on {}", run.timeZone(), run.sendHour(), run.runDate());
+            }
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            log.debug("Reminder run {} was planned by another node", run);
         }
     }
 
+    private void advanceWatermark(ReminderRunKey run) {
+        try {
+            reminderRunService.advanceWatermark(run);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            log.debug("Reminder watermark for {} was moved by another node", run);
+        }
+    }
+
+    private void record(ReminderRunStats stats) {
+        totalScanned.add(stats.scanned());
+        totalEnqueued.add(stats.enqueued());
+        lastRun.set(stats);
+
+        log.info("Reminder run for {} {}h on {}: scanned={}, enqueued={}, duration={}ms",
+                stats.run().timeZone(), stats.run().sendHour(), stats.run().runDate(),
+                stats.scanned(), stats.enqueued(), stats.duration().toMillis());
+    }
+
 }
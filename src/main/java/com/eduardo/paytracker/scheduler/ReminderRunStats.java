@@ -0,0 +1,13 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.model.ReminderRunKey;
+
+import java.time.Duration;
+
+public record ReminderRunStats(
+        ReminderRunKey run,
+        long scanned,
+        long enqueued,
+        Duration duration
+) {
+}
@@ -1,7 +1,10 @@
 package com.eduardo.paytracker.service;
 
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.config.security.TokenVersionCache;
 import com.eduardo.paytracker.dto.RegisterRequestDTO;
 import com.eduardo.paytracker.exception.ExistentUserException;
+import com.eduardo.paytracker.exception.InvalidTimeZoneException;
 import com.eduardo.paytracker.model.User;
 import com.eduardo.paytracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +14,17 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.ZoneId;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final TokenVersionCache tokenVersionCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws InternalAuthenticationServiceException {
@@ -36,8 +44,24 @@ public class AuthenticationService implements UserDetailsService {
             throw new ExistentUserException();
         }
 
+        var timeZone = Objects.requireNonNullElse(data.timeZone(), User.DEFAULT_TIME_ZONE);
+        if (!ZoneId.getAvailableZoneIds().contains(timeZone)) {
+            throw new InvalidTimeZoneException(timeZone);
+        }
+
         var password = passwordEncoder.encode(data.password());
 
-        userRepository.save(new User(null, data.name(), data.email(), password));
+        userRepository.save(new User(null, data.name(), data.email(), password, 0, timeZone,
+                Objects.requireNonNullElse(data.sendHour(), User.DEFAULT_SEND_HOUR)));
+    }
+
+    /**
+     * Revokes every token issued to the authenticated user so far, including the one making this request.
+     */
+    public void logout() {
+        var userId = authenticatedUserProvider.getUserId();
+
+        userRepository.incrementTokenVersion(userId);
+        tokenVersionCache.forget(userId);
     }
 }
@@ -0,0 +1,28 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.TransactionWriteRepository.MonthTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of a transaction that count towards its monthly balance.
+ */
+public record BalanceEntry(LocalDate dueDate, TransactionType type, BigDecimal amount) {
+
+    public static BalanceEntry of(Transaction transaction) {
+        return new BalanceEntry(transaction.getDueDate(), transaction.getType(), transaction.getAmount());
+    }
+
+    public static BalanceEntry of(TransactionResponseDTO transaction) {
+        return new BalanceEntry(transaction.dueDate(), transaction.type(), transaction.amount());
+    }
+
+    public static BalanceEntry of(MonthTotal total) {
+        return new BalanceEntry(total.monthStart(), total.type(), total.amount());
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.dto.EmailMessageDTO;
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.model.enums.EmailOutboxStatus;
+import com.eduardo.paytracker.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+
+    @Value("${api.email.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${api.email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${api.email.outbox.backoff-base:PT30S}")
+    private Duration backoffBase;
+
+    @Value("${api.email.outbox.backoff-max:PT6H}")
+    private Duration backoffMax;
+
+    @Value("${api.email.outbox.retention:P30D}")
+    private Duration retention;
+
+    @Value("${api.email.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * Queues one e-mail per reminder, tagged with the window it matched. {@code runDate} is the local date of the run
+     * that matched them, so "vence amanhã" means tomorrow for the user, whatever the server's date or however late a
+     * catch-up run is.
+     */
+    @Transactional
+    public void enqueueReminders(List<TransactionReminderDTO> reminders, LocalDate runDate) {
+        var now = LocalDateTime.now();
+
+        emailOutboxRepository.saveAll(reminders.stream()
+                .map(reminder -> {
+                    var window = reminder.window(runDate);
+                    return new EmailOutbox(reminder.id(), reminder.userEmail(), EmailService.REMINDER_SUBJECT,
+                            emailService.renderReminder(reminder, window), window, now);
+                })
+                .toList());
+    }
+
+    /**
+     * Queues one e-mail per user listing all of their reminders. {@code reminders} must be ordered by user, so each
+     * digest is cut when the user changes. Each item is labelled with its own window and the digest is tagged with the
+     * most urgent one.
+     *
+     * @return number of digests queued
+     */
+    @Transactional
+    public int enqueueDigests(List<TransactionReminderDTO> reminders, LocalDate runDate) {
+        var now = LocalDateTime.now();
+        var digests = new ArrayList<EmailOutbox>();
+        var from = 0;
+
+        for (int i = 1; i <= reminders.size(); i++) {
+            if (i == reminders.size() || !reminders.get(i).userId().equals(reminders.get(from).userId())) {
+                var items = reminders.subList(from, i);
+                var windows = items.stream().mapToInt(item -> item.window(runDate)).toArray();
+                digests.add(new EmailOutbox(null, items.getFirst().userEmail(), EmailService.DIGEST_SUBJECT,
+                        emailService.renderDigest(items, windows), Arrays.stream(windows).min().getAsInt(), now));
+                from = i;
+            }
+        }
+
+        emailOutboxRepository.saveAll(digests);
+        return digests.size();
+    }
+
+    /**
+     * Locks up to {@code limit} due messages and pushes their next attempt past the lease, so a worker that dies
+     * mid-send only delays those messages until the lease runs out.
+     */
+    @Transactional
+    public List<EmailOutbox> claim(int limit) {
+        var now = LocalDateTime.now();
+        var messages = emailOutboxRepository.lockDueMessages(now, limit);
+
+        messages.forEach(message -> message.claim(now.plus(lease)));
+        return messages;
+    }
+
+    /**
+     * Sends the messages as one SMTP batch and records each outcome: SENT, PENDING (retry scheduled) or FAILED.
+     */
+    public List<EmailOutboxStatus> deliver(List<EmailOutbox> messages) {
+        var failures = emailService.sendAll(messages.stream()
+                .map(message -> new EmailMessageDTO(message.getRecipient(), message.getSubject(), message.getBody()))
+                .toList());
+
+        var now = LocalDateTime.now();
+        var outcomes = new ArrayList<EmailOutboxStatus>(messages.size());
+        var sentIds = new ArrayList<Long>(messages.size());
+
+        for (int i = 0; i < messages.size(); i++) {
+            var message = messages.get(i);
+            var failure = failures.get(i);
+
+            if (failure == null) {
+                sentIds.add(message.getId());
+                outcomes.add(EmailOutboxStatus.SENT);
+            } else if (message.getAttempts() >= maxAttempts) {
+                emailOutboxRepository.markFailed(message.getId(), describe(failure));
+                outcomes.add(EmailOutboxStatus.FAILED);
+            } else {
+                emailOutboxRepository.reschedule(message.getId(), now.plus(backoff(message.getAttempts())), describe(failure));
+                outcomes.add(EmailOutboxStatus.PENDING);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.markSent(sentIds, now);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Deletes SENT and FAILED messages that finished more than {@code retention} ago, a batch at a time; pending
+     * messages are never touched.
+     *
+     * @return number of messages deleted
+     */
+    public long purgeFinished(LocalDateTime now) {
+        var cutoff = now.minus(retention);
+        var deleted = 0L;
+        int batch;
+
+        do {
+            batch = emailOutboxRepository.deleteFinishedBefore(cutoff, purgeBatchSize);
+            deleted += batch;
+        } while (batch == purgeBatchSize);
+
+        return deleted;
+    }
+
+    Duration backoff(int attempts) {
+        var delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private String describe(Exception e) {
+        var cause = e.getCause() != null ? e.getCause() : e;
+        var error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+}
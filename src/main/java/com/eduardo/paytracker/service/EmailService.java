@@ -1,52 +1,184 @@
 package com.eduardo.paytracker.service;
 
-import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.dto.EmailMessageDTO;
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.exception.EmailDeliveryException;
+import com.eduardo.paytracker.utils.HtmlTemplate;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailService {
 
+    public static final String REMINDER_SUBJECT = "🔔 Sua conta vence em breve!";
+    public static final String DIGEST_SUBJECT = "🔔 Você tem contas vencendo em breve!";
+
+    static final String TEMPLATE_PATH = "templates/email-template.html";
+    static final String DIGEST_TEMPLATE_PATH = "templates/email-digest-template.html";
+    static final String DIGEST_ITEM_TEMPLATE_PATH = "templates/email-digest-item.html";
+    private static final Set<String> PLACEHOLDERS = Set.of("nome", "titulo", "descricao", "vencimento", "prazo", "valor", "categoria");
+    private static final Set<String> DIGEST_PLACEHOLDERS = Set.of("nome", "quantidade", "itens", "total");
+
     private final JavaMailSender mailSender;
+    private final HtmlTemplate reminderTemplate;
+    private final HtmlTemplate digestTemplate;
+    private final HtmlTemplate digestItemTemplate;
+    private final int maxMessagesPerConnection;
 
-    public void sendEmail(Transaction transaction) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+    public EmailService(JavaMailSender mailSender,
+                        @Value("${api.email.smtp.max-messages-per-connection:50}") int maxMessagesPerConnection) {
+        this.mailSender = mailSender;
+        this.reminderTemplate = loadTemplate(TEMPLATE_PATH, PLACEHOLDERS);
+        this.digestTemplate = loadTemplate(DIGEST_TEMPLATE_PATH, DIGEST_PLACEHOLDERS);
+        this.digestItemTemplate = loadTemplate(DIGEST_ITEM_TEMPLATE_PATH, PLACEHOLDERS);
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+    }
 
-            helper.setTo(transaction.getUser().getEmail());
-            helper.setSubject("🔔 Sua conta vence em breve!");
+    /**
+     * Sends the e-mails over as few SMTP sessions as possible: each group of up to maxMessagesPerConnection
+     * messages shares one connect/STARTTLS/AUTH handshake. Returns the failures keyed by position in {@code emails};
+     * an empty map means every message was accepted by the server.
+     */
+    public Map<Integer, Exception> sendAll(List<EmailMessageDTO> emails) {
+        var failures = new HashMap<Integer, Exception>();
+        var messages = new ArrayList<MimeMessage>(emails.size());
+        var positions = new ArrayList<Integer>(emails.size());
 
-            String htmlTemplate = loadTemplate("templates/email-template.html");
+        for (int i = 0; i < emails.size(); i++) {
+            try {
+                messages.add(build(emails.get(i)));
+                positions.add(i);
+            } catch (MessagingException e) {
+                failures.put(i, new EmailDeliveryException("Could not build e-mail to " + emails.get(i).recipient(), e));
+            }
+        }
 
-            String html = htmlTemplate
-                    .replace("{{nome}}", transaction.getUser().getName())
-                    .replace("{{titulo}}", transaction.getTitle())
-                    .replace("{{descricao}}", transaction.getDescription())
-                    .replace("{{vencimento}}", transaction.getDueDate().toString())
-                    .replace("{{valor}}", String.format("R$ %.2f", transaction.getAmount()))
-                    .replace("{{categoria}}", transaction.getType().toString());
+        for (int from = 0; from < messages.size(); from += maxMessagesPerConnection) {
+            var to = Math.min(from + maxMessagesPerConnection, messages.size());
+            var group = messages.subList(from, to);
 
-            helper.setText(html, true);
-            mailSender.send(message);
+            try {
+                mailSender.send(group.toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                // Failures are reported by identity, including every message of a session that could not connect. An
+                // empty map only comes from closing the session after all its messages were accepted, so retrying
+                // them would deliver duplicates.
+                var failed = e.getFailedMessages();
+                if (failed.isEmpty()) {
+                    log.warn("SMTP session closed uncleanly after sending {} e-mails", to - from, e);
+                }
+                for (int i = from; i < to; i++) {
+                    if (failed.containsKey(messages.get(i))) {
+                        failures.put(positions.get(i), failed.get(messages.get(i)));
+                    }
+                }
+            } catch (MailException e) {
+                for (int i = from; i < to; i++) {
+                    failures.put(positions.get(i), e);
+                }
+            }
+        }
 
-        } catch (MessagingException | IOException e) {
-            e.printStackTrace();
+        return failures;
+    }
+
+    private MimeMessage build(EmailMessageDTO email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(email.recipient());
+        helper.setSubject(email.subject());
+        helper.setText(email.html(), true);
+        return message;
+    }
+
+    public String renderReminder(TransactionReminderDTO transaction, int window) {
+        return reminderTemplate.render(Map.of(
+                "nome", transaction.userName(),
+                "titulo", transaction.title(),
+                "descricao", transaction.description(),
+                "vencimento", transaction.dueDate().toString(),
+                "prazo", describeWindow(window),
+                "valor", formatAmount(transaction.amount()),
+                "categoria", transaction.type().toString()
+        ));
+    }
+
+    /**
+     * Renders one e-mail listing every reminder of the same user; {@code windows[i]} is the window matched by
+     * {@code transactions.get(i)}.
+     */
+    public String renderDigest(List<TransactionReminderDTO> transactions, int[] windows) {
+        var items = new StringBuilder(transactions.size() * 512);
+        var total = BigDecimal.ZERO;
+
+        for (int i = 0; i < transactions.size(); i++) {
+            var transaction = transactions.get(i);
+            items.append(digestItemTemplate.render(Map.of(
+                    "nome", transaction.userName(),
+                    "titulo", transaction.title(),
+                    "descricao", transaction.description(),
+                    "vencimento", transaction.dueDate().toString(),
+                    "prazo", describeWindow(windows[i]),
+                    "valor", formatAmount(transaction.amount()),
+                    "categoria", transaction.type().toString()
+            )));
+            total = total.add(transaction.amount());
+        }
+
+        return digestTemplate.render(Map.of(
+                "nome", transactions.getFirst().userName(),
+                "quantidade", String.valueOf(transactions.size()),
+                "itens", items.toString(),
+                "total", formatAmount(total)
+        ));
+    }
+
+    private String describeWindow(int days) {
+        if (days < 0) {
+            return "venceu há " + -days + " dia(s)";
         }
+        return switch (days) {
+            case 0 -> "vence hoje";
+            case 1 -> "vence amanhã";
+            default -> "vence em " + days + " dias";
+        };
+    }
+
+    private String formatAmount(BigDecimal amount) {
+        return String.format("R$ %.2f", amount);
     }
 
-    private String loadTemplate(String path) throws IOException {
-        ClassPathResource resource = new ClassPathResource(path);
-        return new String(Files.readAllBytes(resource.getFile().toPath()), StandardCharsets.UTF_8);
+    static HtmlTemplate loadTemplate(String path, Set<String> placeholders) {
+        // getInputStream() rather than getFile(): the template lives inside the jar once packaged.
+        try (var input = new ClassPathResource(path).getInputStream()) {
+            var template = HtmlTemplate.compile(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+
+            if (!placeholders.containsAll(template.getPlaceholders())) {
+                throw new IllegalStateException("Unknown placeholders in " + path + ": " + template.getPlaceholders());
+            }
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load e-mail template " + path, e);
+        }
     }
 }
@@ -0,0 +1,102 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.MonthlyBalanceDTO;
+import com.eduardo.paytracker.exception.InvalidPeriodException;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.MonthlyBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps monthly_balance in step with transactions. The write methods join the caller's transaction, so a rollup
+ * never drifts from the rows it sums.
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyBalanceService {
+
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+
+    public List<MonthlyBalanceDTO> getMonthlyBalances(YearMonth from, YearMonth to) {
+        var userId = authenticatedUserProvider.getUserId();
+        var end = to != null ? to : YearMonth.now();
+        var start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+
+        if (start.isAfter(end)) {
+            throw new InvalidPeriodException();
+        }
+
+        return monthlyBalanceRepository.findMonthlyBalances(userId, start.atDay(1), end.atDay(1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long userId, Collection<Transaction> transactions) {
+        var deltas = new TreeMap<LocalDate, Delta>();
+        transactions.forEach(transaction -> accumulate(deltas, BalanceEntry.of(transaction), false));
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Long userId, Collection<BalanceEntry> entries) {
+        var deltas = new TreeMap<LocalDate, Delta>();
+        entries.forEach(entry -> accumulate(deltas, entry, true));
+        apply(userId, deltas);
+    }
+
+    /**
+     * Takes {@code previous} out of their months and puts {@code current} into theirs. Changes within the same month net
+     * out into a single write, or none when only titles or descriptions changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Long userId, Collection<BalanceEntry> previous, Collection<BalanceEntry> current) {
+        var deltas = new TreeMap<LocalDate, Delta>();
+        previous.forEach(entry -> accumulate(deltas, entry, true));
+        current.forEach(entry -> accumulate(deltas, entry, false));
+        apply(userId, deltas);
+    }
+
+    private void accumulate(Map<LocalDate, Delta> deltas, BalanceEntry entry, boolean subtract) {
+        var amount = subtract ? entry.amount().negate() : entry.amount();
+        var delta = entry.type() == TransactionType.INCOME
+                ? new Delta(amount, BigDecimal.ZERO)
+                : new Delta(BigDecimal.ZERO, amount);
+
+        deltas.merge(entry.dueDate().withDayOfMonth(1), delta, Delta::plus);
+    }
+
+    // Months are written in order, so concurrent writers touching the same months lock them in the same order.
+    private void apply(Long userId, Map<LocalDate, Delta> deltas) {
+        deltas.forEach((monthStart, delta) -> {
+            if (!delta.isZero()) {
+                monthlyBalanceRepository.addToMonth(userId, monthStart, delta.income(), delta.expense());
+            }
+        });
+    }
+
+    private record Delta(BigDecimal income, BigDecimal expense) {
+
+        Delta plus(Delta other) {
+            return new Delta(income.add(other.income), expense.add(other.expense));
+        }
+
+        boolean isZero() {
+            return income.signum() == 0 && expense.signum() == 0;
+        }
+    }
+
+}
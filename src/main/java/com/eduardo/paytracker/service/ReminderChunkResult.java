@@ -0,0 +1,7 @@
+package com.eduardo.paytracker.service;
+
+/**
+ * Outcome of one processed reminder chunk: due transactions read and e-mails queued for them.
+ */
+public record ReminderChunkResult(int scanned, int enqueued) {
+}
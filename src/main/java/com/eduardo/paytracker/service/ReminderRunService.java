@@ -0,0 +1,196 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.model.ReminderBucketKey;
+import com.eduardo.paytracker.model.ReminderChunk;
+import com.eduardo.paytracker.model.ReminderRun;
+import com.eduardo.paytracker.model.ReminderRunKey;
+import com.eduardo.paytracker.model.enums.ReminderChunkStatus;
+import com.eduardo.paytracker.model.enums.ReminderMode;
+import com.eduardo.paytracker.repository.ReminderChunkRepository;
+import com.eduardo.paytracker.repository.ReminderRunRepository;
+import com.eduardo.paytracker.repository.ReminderWatermarkRepository;
+import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReminderRunService {
+
+    private final ReminderRunRepository reminderRunRepository;
+    private final ReminderChunkRepository reminderChunkRepository;
+    private final ReminderWatermarkRepository reminderWatermarkRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+
+    @Value("${api.reminders.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${api.reminders.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${api.reminders.mode:TRANSACTION}")
+    private ReminderMode mode;
+
+    @Value("${api.reminders.windows:2}")
+    private List<Integer> windows;
+
+    @Value("${api.reminders.max-catch-up-dates:7}")
+    private int maxCatchUpDates;
+
+    /**
+     * Runs each bucket still owes at {@code now}: every local date after its watermark up to the latest one whose send
+     * hour has passed, oldest first and at most {@code maxCatchUpDates} per call, so dates missed while the app was
+     * down are caught up over the next ticks instead of dropped. A bucket without a watermark starts at its current
+     * local date.
+     */
+    @Transactional(readOnly = true)
+    public List<ReminderRunKey> findDueRuns(Instant now) {
+        var due = new ArrayList<ReminderRunKey>();
+
+        for (var bucket : userRepository.findReminderBuckets()) {
+            try {
+                var local = now.atZone(ZoneId.of(bucket.timeZone()));
+                var today = local.toLocalDate();
+                var latest = local.getHour() >= bucket.sendHour() ? today : today.minusDays(1);
+                var next = reminderWatermarkRepository
+                        .findById(new ReminderBucketKey(bucket.timeZone(), bucket.sendHour()))
+                        .map(watermark -> watermark.getLastRunDate().plusDays(1))
+                        .orElse(today);
+
+                if (next.isAfter(latest)) {
+                    continue;
+                }
+                if (next.isBefore(latest)) {
+                    log.info("Catching up reminders for {} {}h from {} to {}", bucket.timeZone(), bucket.sendHour(),
+                            next, latest);
+                }
+
+                next.datesUntil(latest.plusDays(1))
+                        .limit(maxCatchUpDates)
+                        .map(date -> new ReminderRunKey(date, bucket.timeZone(), bucket.sendHour()))
+                        .forEach(due::add);
+            } catch (DateTimeException e) {
+                log.warn("Skipping reminders for unknown time zone {}", bucket.timeZone());
+            }
+        }
+
+        return due;
+    }
+
+    /**
+     * Splits the bucket's users with a transaction due in any reminder window of the run (runDate + each configured
+     * offset) into id ranges of at most {@code chunkSize} users, so all of a user's reminders land in the same
+     * chunk. The reminder_run row is the guard: a node that loses the race fails on its primary key and plans
+     * nothing.
+     *
+     * @return false when the run had already been planned
+     */
+    @Transactional
+    public boolean plan(ReminderRunKey run) {
+        if (reminderRunRepository.existsById(run)) {
+            return false;
+        }
+
+        var dueDates = ReminderRun.dueDates(run.runDate(), windows);
+        var chunks = new ArrayList<ReminderChunk>();
+        var afterId = 0L;
+        var boundary = nextBoundary(run, dueDates, afterId);
+
+        while (boundary != null) {
+            chunks.add(new ReminderChunk(run, mode, afterId, boundary));
+            afterId = boundary;
+            boundary = nextBoundary(run, dueDates, afterId);
+        }
+
+        var lastId = transactionRepository.findLastDueUserId(run.timeZone(), run.sendHour(), dueDates, afterId);
+        if (lastId != null) {
+            chunks.add(new ReminderChunk(run, mode, afterId, lastId));
+        }
+
+        var plannedWindows = windows.stream().distinct().map(String::valueOf).collect(Collectors.joining(","));
+        reminderRunRepository.insertRun(run.runDate(), run.timeZone(), run.sendHour(), plannedWindows, chunks.size(),
+                nodeId, LocalDateTime.now());
+        reminderChunkRepository.saveAll(chunks);
+        return true;
+    }
+
+    /**
+     * Locks one pending chunk, enqueues its reminders and marks it done in the same transaction, so each chunk is
+     * queued exactly once even when nodes race for it or die halfway through.
+     *
+     * @return what the chunk queued, or empty when no unlocked pending chunk is left
+     */
+    @Transactional
+    public Optional<ReminderChunkResult> processNextChunk(ReminderRunKey run) {
+        return reminderChunkRepository.lockNextPending(run.runDate(), run.timeZone(), run.sendHour()).map(chunk -> {
+            // The windows come from the run, so every node uses the ones it was planned with.
+            var dueDates = reminderRunRepository.getReferenceById(run).getDueDates();
+            var reminders = transactionRepository.findRemindersByUserRange(run.timeZone(), run.sendHour(), dueDates,
+                    chunk.getAfterId(), chunk.getLastId());
+            var enqueued = 0;
+
+            if (!reminders.isEmpty()) {
+                if (chunk.getMode() == ReminderMode.DIGEST) {
+                    enqueued = emailOutboxService.enqueueDigests(reminders, run.runDate());
+                } else {
+                    emailOutboxService.enqueueReminders(reminders, run.runDate());
+                    enqueued = reminders.size();
+                }
+            }
+
+            chunk.complete(nodeId, enqueued, LocalDateTime.now());
+            return new ReminderChunkResult(reminders.size(), enqueued);
+        });
+    }
+
+    /**
+     * Moves the bucket's watermark onto the run once every chunk of it is done. The watermark only moves one date at a
+     * time, so a date another node is still finishing is never skipped; later dates are picked up again on the next
+     * tick and advance then. A node that loses the race to create the watermark fails on its primary key.
+     *
+     * @return false when the run still has work left or an earlier date is not done yet
+     */
+    @Transactional
+    public boolean advanceWatermark(ReminderRunKey run) {
+        if (!reminderRunRepository.existsById(run)
+                || reminderChunkRepository.countByRunAndStatus(run, ReminderChunkStatus.PENDING) > 0) {
+            return false;
+        }
+
+        var bucket = new ReminderBucketKey(run.timeZone(), run.sendHour());
+        if (!reminderWatermarkRepository.existsById(bucket)) {
+            reminderWatermarkRepository.insertWatermark(run.timeZone(), run.sendHour(), run.runDate(),
+                    LocalDateTime.now());
+            return true;
+        }
+
+        return reminderWatermarkRepository.advance(bucket, run.runDate().minusDays(1), run.runDate(),
+                LocalDateTime.now()) > 0;
+    }
+
+    // Skipping chunkSize - 1 due users of the bucket lands on the last user id of the next full chunk.
+    private Long nextBoundary(ReminderRunKey run, List<LocalDate> dueDates, long afterId) {
+        var ids = transactionRepository.findDueUserIds(run.timeZone(), run.sendHour(), dueDates, afterId,
+                PageRequest.of(chunkSize - 1, 1));
+        return ids.isEmpty() ? null : ids.getFirst();
+    }
+
+}
@@ -1,30 +1,60 @@
 package com.eduardo.paytracker.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.eduardo.paytracker.config.security.TokenClaims;
 import com.eduardo.paytracker.exception.TokenException;
 import com.eduardo.paytracker.model.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "PayTracker API";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final int cacheMaxSize;
+
+    // Tokens that already passed signature verification, keyed by SHA-256 digest and dropped at their exp.
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.cache-size:10000}") int cacheMaxSize) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.cacheMaxSize = cacheMaxSize;
+    }
 
     public String generateToken(User user){
         try {
-            var algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("PayTracker API")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
+                    .withClaim(USER_ID_CLAIM, user.getId())
+                    .withClaim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                     .withExpiresAt(tokenExpiration())
                     .sign(algorithm);
         } catch (JWTCreationException e){
@@ -32,21 +62,91 @@ public class TokenService {
         }
     }
 
-    public String validateToken(String token){
+    public TokenClaims validateToken(String token){
+        var key = digest(token);
+        var cached = verifiedTokens.get(key);
+
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                cacheHits.increment();
+                return cached.claims();
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        cacheMisses.increment();
+
         try {
-            var algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("PayTracker API")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            var decodedJWT = verifier.verify(token);
+            var claims = new TokenClaims(
+                    decodedJWT.getSubject(),
+                    decodedJWT.getClaim(USER_ID_CLAIM).asLong(),
+                    decodedJWT.getClaim(TOKEN_VERSION_CLAIM).asInt()
+            );
+
+            cache(key, claims, decodedJWT.getExpiresAtAsInstant());
+            return claims;
         } catch (JWTVerificationException exception) {
             throw new TokenException("Invalid or expired token!");
         }
     }
 
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private void cache(String key, TokenClaims claims, Instant expiresAt) {
+        if (expiresAt == null || cacheMaxSize <= 0) {
+            return;
+        }
+
+        if (verifiedTokens.size() >= cacheMaxSize) {
+            evictOne();
+        }
+
+        verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
+    }
+
+    // Drops the entry that expires first among a few, so a full cache costs a constant amount of work per miss
+    // instead of a scan, and an expired entry is the first to go when the sample holds one.
+    private void evictOne() {
+        var entries = verifiedTokens.entrySet().iterator();
+        Map.Entry<String, VerifiedToken> victim = null;
+
+        for (int i = 0; i < EVICTION_SAMPLE && entries.hasNext(); i++) {
+            var entry = entries.next();
+            if (victim == null || entry.getValue().expiresAt().isBefore(victim.getValue().expiresAt())) {
+                victim = entry;
+            }
+        }
+
+        if (victim != null) {
+            verifiedTokens.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private Instant tokenExpiration(){
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
 
+    private record VerifiedToken(TokenClaims claims, Instant expiresAt) {
+    }
+
 }
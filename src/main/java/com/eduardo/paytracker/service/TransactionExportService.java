@@ -0,0 +1,109 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.model.enums.ExportFormat;
+import com.eduardo.paytracker.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,title,description,amount,createdAt,dueDate,type";
+
+    private final TransactionRepository transactionRepository;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public StreamingResponseBody exportTransactions(ExportFormat format) {
+        // The body is written on an async thread, so the user has to be resolved while still on the request thread.
+        var userId = authenticatedUserProvider.getUserId();
+        return outputStream -> export(userId, format, outputStream);
+    }
+
+    public void export(Long userId, ExportFormat format, OutputStream outputStream) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var transactions = transactionRepository.streamAllTransactions(userId)) {
+                    if (format == ExportFormat.CSV) {
+                        writeLine(writer, CSV_HEADER);
+                        transactions.forEach(transaction -> writeLine(writer, toCsv(transaction)));
+                    } else {
+                        writeJsonLines(writer, transactions);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void writeJsonLines(Writer writer, Stream<TransactionResponseDTO> transactions) {
+        var jsonWriter = objectMapper.writerFor(TransactionResponseDTO.class)
+                .with(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (var generator = jsonWriter.createGenerator(writer)) {
+            transactions.forEach(transaction -> {
+                try {
+                    jsonWriter.writeValue(generator, transaction);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(TransactionResponseDTO transaction) {
+        return String.join(",",
+                String.valueOf(transaction.id()),
+                csvField(transaction.title()),
+                csvField(transaction.description()),
+                transaction.amount().toPlainString(),
+                transaction.createdAt().toString(),
+                transaction.dueDate().toString(),
+                transaction.type().name());
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
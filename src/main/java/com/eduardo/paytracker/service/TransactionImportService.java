@@ -0,0 +1,263 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.TransactionImportErrorDTO;
+import com.eduardo.paytracker.dto.TransactionImportResultDTO;
+import com.eduardo.paytracker.dto.TransactionRequestDTO;
+import com.eduardo.paytracker.exception.InvalidImportFileException;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.enums.ImportFormat;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.utils.CsvRecordReader;
+import com.eduardo.paytracker.utils.OfxTransactionReader;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "amount", "dueDate", "type");
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final MonthlyBalanceService monthlyBalanceService;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public TransactionImportResultDTO importTransactions(MultipartFile file, ImportFormat format) {
+        var userId = authenticatedUserProvider.getUserId();
+        var resolvedFormat = format != null ? format : ImportFormat.fromFilename(file.getOriginalFilename());
+
+        try (var input = file.getInputStream()) {
+            return importTransactions(userId, resolvedFormat, input);
+        } catch (IOException e) {
+            throw new InvalidImportFileException("Could not read the uploaded file!");
+        }
+    }
+
+    public TransactionImportResultDTO importTransactions(Long userId, ImportFormat format, InputStream input) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        var rows = format == ImportFormat.CSV ? csvRows(reader) : ofxRows(reader);
+        var importer = new BatchImporter(userId);
+
+        try {
+            Map<String, String> fields;
+            while ((fields = rows.next()) != null) {
+                importer.accept(fields);
+            }
+        } catch (InvalidImportFileException e) {
+            // The rest of the file cannot be resynchronised, but rows accepted so far stay imported.
+            importer.abort(e.getMessage());
+        }
+
+        return importer.finish();
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        var csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+        var header = csv.readRecord();
+        if (header == null) {
+            throw new InvalidImportFileException("The uploaded file is empty!");
+        }
+
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+
+        var missing = CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column.toLowerCase()))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("Missing CSV columns: " + String.join(", ", missing));
+        }
+
+        return () -> {
+            var record = csv.readRecord();
+            while (record != null && record.size() == 1 && record.getFirst().isBlank()) {
+                record = csv.readRecord();
+            }
+            if (record == null) {
+                return null;
+            }
+
+            var fields = new HashMap<String, String>();
+            for (var column : CSV_COLUMNS) {
+                int index = columns.get(column.toLowerCase());
+                fields.put(column, index < record.size() ? record.get(index) : null);
+            }
+            return fields;
+        };
+    }
+
+    private RowSource ofxRows(BufferedReader reader) {
+        var ofx = new OfxTransactionReader(reader, MAX_RECORD_LENGTH);
+
+        return () -> {
+            var element = ofx.readTransaction();
+            if (element == null) {
+                return null;
+            }
+
+            var fields = new HashMap<String, String>();
+            fields.put("title", element.get("NAME"));
+            fields.put("description", element.getOrDefault("MEMO", element.get("NAME")));
+            fields.put("dueDate", ofxDate(element.get("DTPOSTED")));
+
+            var amount = element.get("TRNAMT");
+            if (amount != null && amount.startsWith("-")) {
+                fields.put("amount", amount.substring(1));
+                fields.put("type", TransactionType.EXPENSE.name());
+            } else {
+                fields.put("amount", amount);
+                fields.put("type", TransactionType.INCOME.name());
+            }
+            return fields;
+        };
+    }
+
+    private String ofxDate(String value) {
+        // OFX dates are YYYYMMDD optionally followed by time and zone, e.g. 20250430120000[-3:BRT].
+        if (value == null || value.length() < 8) {
+            return value;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE).toString();
+        } catch (DateTimeParseException e) {
+            return value;
+        }
+    }
+
+    private TransactionRequestDTO toRequest(Map<String, String> fields, Map<String, String> errors) {
+        var amount = parse(fields, "amount", errors, value -> new BigDecimal(value.trim()));
+        var dueDate = parse(fields, "dueDate", errors, value -> LocalDate.parse(value.trim()));
+        var type = parse(fields, "type", errors, value -> TransactionType.valueOf(value.trim().toUpperCase()));
+
+        var request = new TransactionRequestDTO(fields.get("title"), fields.get("description"), amount, dueDate, type);
+
+        validator.validate(request).forEach(violation ->
+                errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+
+        return request;
+    }
+
+    private <T> T parse(Map<String, String> fields, String field, Map<String, String> errors, ValueParser<T> parser) {
+        var value = fields.get(field);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.parse(value);
+        } catch (RuntimeException e) {
+            errors.put(field, "invalid value '" + value + "'");
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        Map<String, String> next() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ValueParser<T> {
+        T parse(String value);
+    }
+
+    private class BatchImporter {
+
+        private final Long userId;
+        private final LocalDate createdAt = LocalDate.now();
+        private final List<TransactionRequestDTO> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<TransactionImportErrorDTO> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long rejectedRows;
+
+        BatchImporter(Long userId) {
+            this.userId = userId;
+        }
+
+        void accept(Map<String, String> fields) {
+            totalRows++;
+
+            var rowErrors = new LinkedHashMap<String, String>();
+            var request = toRequest(fields, rowErrors);
+
+            if (!rowErrors.isEmpty()) {
+                reject(rowErrors);
+                return;
+            }
+
+            pending.add(request);
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(Map<String, String> details) {
+            rejectedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TransactionImportErrorDTO(totalRows, details));
+            }
+        }
+
+        void abort(String message) {
+            totalRows++;
+            reject(Map.of("file", message));
+        }
+
+        TransactionImportResultDTO finish() {
+            flush();
+            return new TransactionImportResultDTO(totalRows, importedRows, rejectedRows, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            // One short transaction per batch keeps the persistence context, and the heap, bounded by BATCH_SIZE.
+            transactionTemplate.executeWithoutResult(status -> {
+                var user = userRepository.getReferenceById(userId);
+                var transactions = transactionRepository.saveAll(pending.stream()
+                        .map(request -> new Transaction(request, createdAt, user))
+                        .toList());
+                monthlyBalanceService.add(userId, transactions);
+                userRepository.incrementTransactionsVersion(userId);
+            });
+
+            importedRows += pending.size();
+            pending.clear();
+        }
+    }
+
+}
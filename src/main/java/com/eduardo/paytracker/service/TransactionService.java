@@ -1,108 +1,246 @@
 package com.eduardo.paytracker.service;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.TransactionBatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionBulkResultDTO;
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionBulkUpdateRequestDTO;
+import com.eduardo.paytracker.dto.TransactionCursor;
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.dto.TransactionLookupResponseDTO;
 import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
 import com.eduardo.paytracker.dto.TransactionRequestDTO;
 import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.dto.TransactionSliceResponseDTO;
+import com.eduardo.paytracker.exception.BusinessException;
+import com.eduardo.paytracker.exception.InvalidBulkRequestException;
+import com.eduardo.paytracker.exception.InvalidIdListException;
+import com.eduardo.paytracker.exception.TokenException;
 import com.eduardo.paytracker.exception.TransactionNotFoundException;
+import com.eduardo.paytracker.exception.TransactionVersionMismatchException;
 import com.eduardo.paytracker.model.Transaction;
-import com.eduardo.paytracker.model.User;
 import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.TransactionSpecifications;
 import com.eduardo.paytracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int MAX_LOOKUP_IDS = 100;
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final MonthlyBalanceService monthlyBalanceService;
 
+    @Transactional
     public TransactionResponseDTO createTransaction(TransactionRequestDTO data) {
-        var user = getUser();
+        var userId = authenticatedUserProvider.getUserId();
+        var user = userRepository.getReferenceById(userId);
+
+        var transaction = transactionRepository.save(new Transaction(data, LocalDate.now(), user));
+        monthlyBalanceService.add(userId, List.of(transaction));
+        userRepository.incrementTransactionsVersion(userId);
+
+        return new TransactionResponseDTO(transaction);
+    }
 
-        var transaction = new Transaction(
-                null,
-                data.title(),
-                data.description(),
-                data.amount(),
-                LocalDate.now(),
-                data.dueDate(),
-                data.type(),
-                user
-        );
+    @Transactional
+    public List<TransactionResponseDTO> createTransactions(TransactionBatchRequestDTO data) {
+        var userId = authenticatedUserProvider.getUserId();
+        var user = userRepository.getReferenceById(userId);
+        var createdAt = LocalDate.now();
+
+        var transactions = transactionRepository.saveAll(data.transactions().stream()
+                .map(item -> new Transaction(item, createdAt, user))
+                .toList());
+        monthlyBalanceService.add(userId, transactions);
+        userRepository.incrementTransactionsVersion(userId);
+
+        return transactions.stream()
+                .map(TransactionResponseDTO::new)
+                .toList();
+    }
 
-        return new TransactionResponseDTO(transactionRepository.save(transaction));
+    public long getTransactionsVersion() {
+        return userRepository.findTransactionsVersion(authenticatedUserProvider.getUserId())
+                .orElseThrow(() -> new TokenException("Invalid or expired token!"));
     }
 
     public Page<TransactionResponseDTO> getAllTransactions(Pageable pageable) {
-        var userId = getUser().getId();
+        var userId = authenticatedUserProvider.getUserId();
         var transactions = transactionRepository.findAllTransactions(userId, pageable);
 
         if(transactions.isEmpty()){
             throw new TransactionNotFoundException("You haven't registered any transactions yet!");
         }
 
-        return transactionRepository.findAllTransactions(userId, pageable).map(TransactionResponseDTO::new);
+        return transactions;
     }
 
-    public TransactionResponseDTO getTransactionById(Long id) {
-        var transaction = getTransactionOrThrow(id);
+    // An empty page is a valid answer to a search, unlike listing a user with no transactions at all.
+    public Page<TransactionResponseDTO> searchTransactions(TransactionFilterDTO filter, Pageable pageable) {
+        var userId = authenticatedUserProvider.getUserId();
 
-        return new TransactionResponseDTO(transaction);
+        return transactionRepository.searchTransactions(TransactionSpecifications.matching(userId, filter), pageable);
     }
 
-    public TransactionResponseDTO transactionSpecificUpdate(TransactionPatchRequestDTO data, Long id) {
-        var transaction = getTransactionOrThrow(id);
+    public TransactionSliceResponseDTO getTransactionsByCursor(String cursor, int size) {
+        var userId = authenticatedUserProvider.getUserId();
+        var pageable = PageRequest.of(0, Math.clamp(size, 1, MAX_SLICE_SIZE));
 
-        transaction.updateFromPatch(data);
-        transactionRepository.save(transaction);
+        Slice<TransactionResponseDTO> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstTransactionsSlice(userId, pageable);
 
-        return new TransactionResponseDTO(transaction);
+            if (transactions.isEmpty()) {
+                throw new TransactionNotFoundException("You haven't registered any transactions yet!");
+            }
+        } else {
+            var position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findTransactionsSliceAfter(userId, position.dueDate(), position.id(), pageable);
+        }
+
+        var content = transactions.getContent();
+        var nextCursor = transactions.hasNext() ? TransactionCursor.of(content.getLast()).encode() : null;
+
+        return new TransactionSliceResponseDTO(content, transactions.hasNext(), nextCursor);
     }
 
-    public TransactionResponseDTO transactionCompleteUpdate(TransactionRequestDTO data, Long id) {
-        var transaction = getTransactionOrThrow(id);
+    public TransactionResponseDTO getTransactionById(Long id) {
+        var userId = authenticatedUserProvider.getUserId();
+        var transaction = transactionRepository.findTransactionResponseById(userId, id);
 
-        transaction.updateFrom(data);
-        transactionRepository.save(transaction);
+        if(transaction == null){
+            throw new TransactionNotFoundException("Transaction not found!");
+        }
 
-        return new TransactionResponseDTO(transaction);
+        return transaction;
+    }
+
+    // Ids the user does not own are reported as missing, exactly like ids that do not exist.
+    public TransactionLookupResponseDTO getTransactionsByIds(List<Long> ids) {
+        var requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+
+        if (requestedIds.isEmpty() || requestedIds.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidIdListException(MAX_LOOKUP_IDS);
+        }
+
+        var userId = authenticatedUserProvider.getUserId();
+        var found = transactionRepository.findTransactionResponsesByIds(userId, requestedIds).stream()
+                .collect(Collectors.toMap(TransactionResponseDTO::id, Function.identity()));
+
+        var content = new ArrayList<TransactionResponseDTO>(found.size());
+        var missingIds = new ArrayList<Long>();
+        for (var id : requestedIds) {
+            var transaction = found.get(id);
+            if (transaction != null) {
+                content.add(transaction);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new TransactionLookupResponseDTO(content, missingIds);
+    }
+
+    @Transactional
+    public TransactionResponseDTO transactionSpecificUpdate(TransactionPatchRequestDTO data, Long id, Long expectedVersion) {
+        return update(id, data, expectedVersion);
+    }
+
+    @Transactional
+    public TransactionResponseDTO transactionCompleteUpdate(TransactionRequestDTO data, Long id, Long expectedVersion) {
+        return update(id, new TransactionPatchRequestDTO(data.title(), data.description(), data.amount(),
+                data.dueDate(), data.type()), expectedVersion);
     }
 
+    @Transactional
     public void deleteTransaction(Long id) {
-        var transaction = getTransactionOrThrow(id);
-        transactionRepository.delete(transaction);
+        var userId = authenticatedUserProvider.getUserId();
+        var deleted = transactionRepository.deleteTransaction(userId, id)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found!"));
+
+        monthlyBalanceService.remove(userId, List.of(BalanceEntry.of(deleted)));
+        userRepository.incrementTransactionsVersion(userId);
     }
 
-    private Transaction getTransactionOrThrow(Long transactionId){
-        var userId = getUser().getId();
-        var transaction = transactionRepository.findTransactionById(userId, transactionId);
+    @Transactional
+    public TransactionBulkResultDTO updateTransactions(TransactionBulkUpdateRequestDTO data) {
+        requireSelection(data.selection());
+        if (data.changes().isEmpty()) {
+            throw new InvalidBulkRequestException("At least one field must be changed!");
+        }
 
-        if(transaction == null){
-            throw new TransactionNotFoundException("Transaction not found!");
+        var userId = authenticatedUserProvider.getUserId();
+        var updated = transactionRepository.updateTransactions(userId, data.selection(), data.changes());
+
+        if (updated.count() > 0) {
+            monthlyBalanceService.replace(userId,
+                    updated.previous().stream().map(BalanceEntry::of).toList(),
+                    updated.current().stream().map(BalanceEntry::of).toList());
+            userRepository.incrementTransactionsVersion(userId);
         }
 
-        return transaction;
+        return new TransactionBulkResultDTO(updated.count());
     }
 
-    private User getUser() {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
+    @Transactional
+    public TransactionBulkResultDTO deleteTransactions(TransactionBulkSelectionDTO selection) {
+        requireSelection(selection);
 
-        String token = (String) authentication.getCredentials();
-        DecodedJWT decodedJWT = JWT.decode(token);
-        String email = decodedJWT.getClaim("sub").asString();
+        var userId = authenticatedUserProvider.getUserId();
+        var deleted = transactionRepository.deleteTransactions(userId, selection);
 
-        User user = (User) userRepository.findByEmail(email);
-        Long userId = user.getId();
+        if (deleted.count() > 0) {
+            monthlyBalanceService.remove(userId, deleted.previous().stream().map(BalanceEntry::of).toList());
+            userRepository.incrementTransactionsVersion(userId);
+        }
+
+        return new TransactionBulkResultDTO(deleted.count());
+    }
 
-        return userRepository.getReferenceById(userId);
+    private TransactionResponseDTO update(Long id, TransactionPatchRequestDTO data, Long expectedVersion) {
+        var userId = authenticatedUserProvider.getUserId();
+        var update = transactionRepository.updateTransaction(userId, id, data, expectedVersion)
+                .orElseThrow(() -> notUpdated(userId, id, expectedVersion));
+
+        monthlyBalanceService.replace(userId, List.of(BalanceEntry.of(update.previous())),
+                List.of(BalanceEntry.of(update.current())));
+        userRepository.incrementTransactionsVersion(userId);
+
+        return update.current();
+    }
+
+    // An empty selection would touch every transaction of the user, which no bulk request means to do.
+    private void requireSelection(TransactionBulkSelectionDTO selection) {
+        if (selection.isEmpty()) {
+            throw new InvalidBulkRequestException("At least one selection criterion is required!");
+        }
+    }
+
+    // No row was updated: only when a version was expected can the transaction still exist, with a newer version.
+    private BusinessException notUpdated(Long userId, Long id, Long expectedVersion) {
+        if (expectedVersion != null && transactionRepository.existsByIdAndUserId(id, userId)) {
+            return new TransactionVersionMismatchException();
+        }
+        return new TransactionNotFoundException("Transaction not found!");
     }
 }
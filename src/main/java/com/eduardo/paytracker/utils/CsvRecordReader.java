@@ -0,0 +1,94 @@
+package com.eduardo.paytracker.utils;
+
+import com.eduardo.paytracker.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time, so only the current record is ever held in memory.
+ */
+public class CsvRecordReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final PushbackReader reader;
+    private final int maxRecordLength;
+    private boolean started;
+
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = new PushbackReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public List<String> readRecord() throws IOException {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var length = 0;
+        var quoted = false;
+        var empty = true;
+
+        int c;
+        while ((c = next()) != -1) {
+            empty = false;
+
+            if (++length > maxRecordLength) {
+                throw new InvalidImportFileException("Record exceeds the maximum length of " + maxRecordLength + " characters!");
+            }
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    field.append((char) reader.read());
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    reader.read();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (empty) {
+            return null;
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int next() throws IOException {
+        var c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        var c = reader.read();
+        if (c != -1) {
+            reader.unread(c);
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.eduardo.paytracker.utils;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+public class DialectUtil {
+
+    // Native writes use PostgreSQL syntax (RETURNING, ON CONFLICT) in production and fall back to what H2 supports in
+    // the tests.
+    public static boolean isPostgreSQL(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
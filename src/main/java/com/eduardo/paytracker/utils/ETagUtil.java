@@ -0,0 +1,51 @@
+package com.eduardo.paytracker.utils;
+
+import com.eduardo.paytracker.exception.TransactionVersionMismatchException;
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+public class ETagUtil {
+
+    private static final String ANY = "*";
+
+    // Spring Security sends no-store by default, which would keep clients from ever revalidating an ETag.
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag of one view of a collection: its version plus a digest of the query behind the view, so one page or filter
+     * never revalidates against another.
+     */
+    public static String of(long version, String query) {
+        var crc = new CRC32();
+        crc.update(query.getBytes(StandardCharsets.UTF_8));
+        return "\"" + version + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    /**
+     * Reads the version an If-Match header expects, or null when it is absent or "*". Weak, malformed or multiple tags
+     * can never match a single strong version, so they fail the precondition straight away.
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals(ANY)) {
+            return null;
+        }
+
+        var tag = header.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new TransactionVersionMismatchException();
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TransactionVersionMismatchException();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.eduardo.paytracker.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A template split once into literal segments and {@code {{placeholder}}} slots, rendered in a single pass
+ * with the placeholder values HTML-escaped. {@code {{{placeholder}}}} slots take already rendered HTML as is.
+ */
+public final class HtmlTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\{?)\\s*(\\w+)\\s*}}(}?)");
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final boolean[] raw;
+    private final int literalLength;
+
+    private HtmlTemplate(String[] literals, String[] placeholders, boolean[] raw) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.raw = raw;
+
+        var length = 0;
+        for (var literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static HtmlTemplate compile(String source) {
+        var literals = new ArrayList<String>();
+        var placeholders = new ArrayList<String>();
+        var raw = new ArrayList<Boolean>();
+        var matcher = PLACEHOLDER.matcher(source);
+        var position = 0;
+
+        while (matcher.find()) {
+            literals.add(source.substring(position, matcher.start()));
+            if (matcher.group(1).length() != matcher.group(3).length()) {
+                throw new IllegalArgumentException("Unbalanced braces in template placeholder '" + matcher.group() + "'");
+            }
+            placeholders.add(matcher.group(2));
+            raw.add(!matcher.group(1).isEmpty());
+            position = matcher.end();
+        }
+        literals.add(source.substring(position));
+
+        var rawSlots = new boolean[raw.size()];
+        for (int i = 0; i < rawSlots.length; i++) {
+            rawSlots[i] = raw.get(i);
+        }
+
+        return new HtmlTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new), rawSlots);
+    }
+
+    public Set<String> getPlaceholders() {
+        return Set.copyOf(List.of(placeholders));
+    }
+
+    public String render(Map<String, String> values) {
+        var out = new StringBuilder(literalLength + placeholders.length * 32);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+
+            var value = values.get(placeholders[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template placeholder '" + placeholders[i] + "'");
+            }
+            if (raw[i]) {
+                out.append(value);
+            } else {
+                escape(value, out);
+            }
+        }
+        out.append(literals[placeholders.length]);
+
+        return out.toString();
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.eduardo.paytracker.utils;
+
+import com.eduardo.paytracker.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Walks an OFX statement tag by tag and returns the fields of one {@code <STMTTRN>} block at a time.
+ * Works for both the SGML (OFX 1.x, unclosed elements) and the XML (OFX 2.x) variants.
+ */
+public class OfxTransactionReader {
+
+    private static final String TRANSACTION_TAG = "STMTTRN";
+
+    private final PushbackReader reader;
+    private final int maxValueLength;
+
+    public OfxTransactionReader(Reader reader, int maxValueLength) {
+        this.reader = new PushbackReader(reader);
+        this.maxValueLength = maxValueLength;
+    }
+
+    public Map<String, String> readTransaction() throws IOException {
+        Map<String, String> fields = null;
+
+        while (skipToTag()) {
+            var tag = readUntil('>').trim().toUpperCase();
+
+            if (tag.equals(TRANSACTION_TAG)) {
+                fields = new HashMap<>();
+            } else if (tag.equals("/" + TRANSACTION_TAG)) {
+                if (fields != null) {
+                    return fields;
+                }
+            } else if (fields != null && !tag.startsWith("/")) {
+                var value = readUntil('<').trim();
+                if (!value.isEmpty()) {
+                    fields.put(tag, unescape(value));
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    private boolean skipToTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readUntil(char delimiter) throws IOException {
+        var value = new StringBuilder();
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == delimiter) {
+                if (delimiter == '<') {
+                    reader.unread(c);
+                }
+                break;
+            }
+            if (value.length() == maxValueLength) {
+                throw new InvalidImportFileException("Element exceeds the maximum length of " + maxValueLength + " characters!");
+            }
+            value.append((char) c);
+        }
+
+        return value.toString();
+    }
+
+    private String unescape(String value) {
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+
+}
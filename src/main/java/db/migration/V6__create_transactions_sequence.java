@@ -0,0 +1,28 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the pooled sequence used for transaction ids. Hibernate's pooled optimizer treats each value
+ * as the upper bound of a block of ALLOCATION_SIZE ids, so the sequence starts one block above the
+ * current maximum id to keep the first block clear of existing rows.
+ */
+public class V6__create_transactions_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (var statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (var resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM transactions")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+
+            statement.execute("CREATE SEQUENCE transactions_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+ALTER TABLE users ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'America/Sao_Paulo';
+ALTER TABLE users ADD COLUMN send_hour INTEGER NOT NULL DEFAULT 17;
+
+CREATE INDEX idx_users_time_zone_send_hour_id ON users (time_zone, send_hour, id);
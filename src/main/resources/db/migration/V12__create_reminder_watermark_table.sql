@@ -0,0 +1,18 @@
+-- Last local date fully processed per bucket, so dates missed while the app was down are caught up later.
+CREATE TABLE reminder_watermark (
+    time_zone VARCHAR(64) NOT NULL,
+    send_hour INTEGER NOT NULL,
+    last_run_date DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (time_zone, send_hour)
+);
+
+INSERT INTO reminder_watermark (time_zone, send_hour, last_run_date, updated_at)
+SELECT r.time_zone, r.send_hour, MAX(r.run_date), CURRENT_TIMESTAMP
+FROM reminder_run r
+WHERE NOT EXISTS (
+    SELECT 1 FROM reminder_chunk c
+    WHERE c.run_date = r.run_date AND c.time_zone = r.time_zone AND c.send_hour = r.send_hour
+      AND c.status = 'PENDING'
+)
+GROUP BY r.time_zone, r.send_hour;
@@ -0,0 +1,17 @@
+-- Income and expense per user and due month, kept up to date by every write to transactions.
+CREATE TABLE monthly_balance (
+    user_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    income DECIMAL(19, 2) NOT NULL,
+    expense DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (user_id, month_start),
+    CONSTRAINT fk_monthly_balance_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+INSERT INTO monthly_balance (user_id, month_start, income, expense)
+SELECT user_id,
+       CAST(DATE_TRUNC('MONTH', due_date) AS DATE),
+       SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+       SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END)
+FROM transactions
+GROUP BY user_id, CAST(DATE_TRUNC('MONTH', due_date) AS DATE);
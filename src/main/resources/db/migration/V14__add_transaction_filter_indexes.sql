@@ -0,0 +1,8 @@
+-- Every search is scoped to one user; each filter gets an index that starts with user_id and then narrows on it.
+-- dueDate ranges already use idx_transactions_user_due_date_id. Built CONCURRENTLY on PostgreSQL, outside a
+-- transaction as set in the .conf file, so writes to transactions are not blocked while they build.
+CREATE INDEX ${concurrently} idx_transactions_user_type_due_date_id ON transactions (user_id, type, due_date, id);
+
+CREATE INDEX ${concurrently} idx_transactions_user_amount ON transactions (user_id, amount);
+
+CREATE INDEX ${concurrently} idx_transactions_user_created_at ON transactions (user_id, created_at);
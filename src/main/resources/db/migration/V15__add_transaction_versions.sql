@@ -0,0 +1,7 @@
+-- Bumped by every write to the row; served as the ETag of GET /transaction/{id} and checked against If-Match.
+ALTER TABLE transactions
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped by every write to any of the user's transactions; served as the ETag of the transaction list.
+ALTER TABLE users
+ADD COLUMN transactions_version BIGINT NOT NULL DEFAULT 0;
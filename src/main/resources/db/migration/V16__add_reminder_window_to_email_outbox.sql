@@ -0,0 +1,4 @@
+-- Days between the run date and the due date the reminder matched; for a digest, its most urgent item.
+-- Null for messages that are not reminders.
+ALTER TABLE email_outbox
+ADD COLUMN reminder_window INTEGER;
@@ -0,0 +1,3 @@
+-- Built CONCURRENTLY on PostgreSQL so writes to transactions carry on during the build (the placeholder is empty on
+-- H2, which has no such option); that needs the migration to run outside a transaction, as set in its .conf file.
+CREATE INDEX ${concurrently} idx_transactions_user_due_date_id ON transactions (user_id, due_date, id);
@@ -0,0 +1,17 @@
+CREATE SEQUENCE email_outbox_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE email_outbox (
+    id BIGINT PRIMARY KEY,
+    transaction_id BIGINT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_status_next_attempt_id ON email_outbox (status, next_attempt_at, id);
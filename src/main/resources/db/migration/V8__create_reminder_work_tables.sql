@@ -0,0 +1,31 @@
+-- State of in-progress reminder runs: one run per (local date, time zone, send hour) bucket, covering one due date per
+-- configured window, split into chunks of transaction or user ids that any node can claim.
+CREATE TABLE reminder_run (
+    run_date DATE NOT NULL,
+    time_zone VARCHAR(64) NOT NULL,
+    send_hour INTEGER NOT NULL,
+    windows VARCHAR(100) NOT NULL,
+    chunks INTEGER NOT NULL,
+    created_by VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (run_date, time_zone, send_hour)
+);
+
+CREATE SEQUENCE reminder_chunk_seq START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE reminder_chunk (
+    id BIGINT PRIMARY KEY,
+    run_date DATE NOT NULL,
+    time_zone VARCHAR(64) NOT NULL,
+    send_hour INTEGER NOT NULL,
+    mode VARCHAR(20) NOT NULL,
+    after_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_by VARCHAR(100),
+    enqueued INTEGER,
+    completed_at TIMESTAMP,
+    FOREIGN KEY (run_date, time_zone, send_hour) REFERENCES reminder_run (run_date, time_zone, send_hour)
+);
+
+CREATE INDEX idx_reminder_chunk_run_status ON reminder_chunk (run_date, time_zone, send_hour, status);
@@ -0,0 +1,77 @@
+package com.eduardo.paytracker.benchmark;
+
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of one reminder e-mail: the previous per-e-mail load plus one {@code String.replace} pass per placeholder,
+ * the same replace chain on a cached template, and the compiled single-pass template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE_PATH = "templates/email-template.html";
+
+    private EmailService emailService;
+    private TransactionReminderDTO reminder;
+    private String cachedTemplate;
+
+    @Setup
+    public void setup() throws IOException {
+        emailService = new EmailService(new JavaMailSenderImpl(), 50);
+        reminder = new TransactionReminderDTO(1L, "Aluguel", "Apartamento <centro> & garagem",
+                new BigDecimal("1200.50"), LocalDate.of(2025, 5, 5), TransactionType.EXPENSE,
+                1L, "Eduardo", "edu@email.com");
+        cachedTemplate = readTemplate();
+    }
+
+    @Benchmark
+    public String legacyLoadAndReplace() throws IOException {
+        return replaceAll(readTemplate());
+    }
+
+    @Benchmark
+    public String legacyReplaceCachedTemplate() {
+        return replaceAll(cachedTemplate);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return emailService.renderReminder(reminder, 2);
+    }
+
+    private String readTemplate() throws IOException {
+        var resource = new ClassPathResource(TEMPLATE_PATH);
+        return new String(Files.readAllBytes(resource.getFile().toPath()), StandardCharsets.UTF_8);
+    }
+
+    private String replaceAll(String template) {
+        return template
+                .replace("{{nome}}", reminder.userName())
+                .replace("{{titulo}}", reminder.title())
+                .replace("{{descricao}}", reminder.description())
+                .replace("{{vencimento}}", reminder.dueDate().toString())
+                .replace("{{prazo}}", "vence em 2 dias")
+                .replace("{{valor}}", String.format("R$ %.2f", reminder.amount()))
+                .replace("{{categoria}}", reminder.type().toString());
+    }
+}
@@ -0,0 +1,42 @@
+package com.eduardo.paytracker.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link EmailTemplateBenchmark} through JMH. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EmailTemplateBenchmarkTest {
+
+    @Test
+    void compiledTemplateRendersFasterThanReplaceChain() throws Exception {
+        var options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Map<String, Double> nanosPerRender = new Runner(options).run().stream()
+                .collect(Collectors.toMap(
+                        result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                        (RunResult result) -> result.getPrimaryResult().getScore()));
+
+        nanosPerRender.forEach((benchmark, nanos) -> System.out.printf("%s: %.0f ns/render%n", benchmark, nanos));
+
+        assertThat(nanosPerRender.get("compiledTemplate")).isLessThan(nanosPerRender.get("legacyReplaceCachedTemplate"));
+        assertThat(nanosPerRender.get("compiledTemplate")).isLessThan(nanosPerRender.get("legacyLoadAndReplace"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.eduardo.paytracker.benchmark;
+
+import com.eduardo.paytracker.dto.EmailMessageDTO;
+import com.eduardo.paytracker.service.EmailService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same burst of reminders to an embedded authenticated SMTP server (GreenMail) with one session per
+ * message and with reused sessions, and reports messages/s. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SmtpBatchingBenchmarkTest {
+
+    private static final int MESSAGES = 2_000;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("bench", "secret"));
+
+    @Test
+    void reusedSessionsSendBurstFasterThanOneSessionPerMessage() throws Exception {
+        var burst = IntStream.range(0, MESSAGES)
+                .mapToObj(i -> new EmailMessageDTO("user" + i + "@email.com", EmailService.REMINDER_SUBJECT,
+                        "<p>Sua conta " + i + " vence em breve</p>"))
+                .toList();
+
+        send(burst, 50);
+        greenMail.purgeEmailFromAllMailboxes();
+
+        var perMessage = send(burst, 1);
+        greenMail.purgeEmailFromAllMailboxes();
+        var batched = send(burst, 50);
+
+        System.out.printf("SMTP burst of %d: one session per message %.0f msg/s, 50 per session %.0f msg/s (%.1fx)%n",
+                MESSAGES, perMessage, batched, batched / perMessage);
+        assertThat(greenMail.getReceivedMessages()).hasSize(MESSAGES);
+        assertThat(batched).isGreaterThan(perMessage);
+    }
+
+    private double send(List<EmailMessageDTO> burst, int maxMessagesPerConnection) {
+        var sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        sender.setUsername("bench");
+        sender.setPassword("secret");
+        sender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        var emailService = new EmailService(sender, maxMessagesPerConnection);
+
+        var start = System.nanoTime();
+        var failures = emailService.sendAll(burst);
+        var seconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(failures).isEmpty();
+        return burst.size() / seconds;
+    }
+}
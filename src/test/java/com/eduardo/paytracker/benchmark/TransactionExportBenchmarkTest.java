@@ -0,0 +1,159 @@
+package com.eduardo.paytracker.benchmark;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.ExportFormat;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.TransactionExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports 1M rows through TransactionExportService into a counting sink and samples the live heap
+ * (after a forced GC) every 100k rows. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(TransactionExportService.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:exportbench;MODE=PostgreSQL;LAZY_QUERY_EXECUTION=TRUE;DB_CLOSE_DELAY=-1")
+class TransactionExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final long MAX_HEAP_OVERHEAD_BYTES = 128L * 1024 * 1024;
+    private static final long MAX_HEAP_DRIFT_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        var user = userRepository.findByEmail("export@bench.com");
+        if (user != null) {
+            userId = ((User) user).getId();
+            return;
+        }
+
+        userId = userRepository.save(new User(null, "Bench", "export@bench.com", "senha")).getId();
+        var baseDate = LocalDate.now();
+        var batch = new ArrayList<Object[]>(10_000);
+
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{"Conta " + i, "Descrição, com \"aspas\" " + i, i % 5000 + 0.99,
+                    Date.valueOf(baseDate), Date.valueOf(baseDate.plusDays(i % 3650)), i % 2 == 0 ? "EXPENSE" : "INCOME", userId});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    @Test
+    void ndjsonExportKeepsHeapFlat() throws Exception {
+        runExport(ExportFormat.NDJSON);
+    }
+
+    @Test
+    void csvExportKeepsHeapFlat() throws Exception {
+        runExport(ExportFormat.CSV);
+    }
+
+    private void runExport(ExportFormat format) throws Exception {
+        var sink = new HeapSamplingSink(format == ExportFormat.CSV ? 1 : 0);
+        var baseline = liveHeap();
+
+        var start = System.nanoTime();
+        transactionExportService.export(userId, format, sink);
+        var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // The first sample includes the fixed cost of the open cursor; every later one must stay at that level.
+        var peak = sink.samples.stream().mapToLong(Long::longValue).max().orElseThrow();
+        var overhead = sink.samples.getFirst() - baseline;
+        var drift = peak - sink.samples.getFirst();
+        System.out.printf("%s export: %d rows, %d MB in %d ms (%.0f rows/s), cursor overhead %d KB, heap drift %d KB%n",
+                format, sink.lines - sink.headerLines, sink.bytes / (1024 * 1024), elapsedMillis,
+                ROWS * 1000.0 / Math.max(elapsedMillis, 1), overhead / 1024, drift / 1024);
+
+        assertThat(sink.lines - sink.headerLines).isEqualTo(ROWS);
+        assertThat(sink.samples).hasSizeGreaterThanOrEqualTo(ROWS / SAMPLE_EVERY);
+        assertThat(overhead).isLessThan(MAX_HEAP_OVERHEAD_BYTES);
+        assertThat(drift).isLessThan(MAX_HEAP_DRIFT_BYTES);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions (id, title, description, amount, created_at, due_date, type, user_id)
+                VALUES (NEXT VALUE FOR transactions_seq, ?, ?, ?, ?, ?, ?, ?)
+                """, batch);
+        batch.clear();
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static class HeapSamplingSink extends OutputStream {
+
+        private final int headerLines;
+        private final List<Long> samples = new ArrayList<>();
+        private long bytes;
+        private long lines;
+
+        HeapSamplingSink(int headerLines) {
+            this.headerLines = headerLines;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                samples.add(liveHeap());
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+    }
+}
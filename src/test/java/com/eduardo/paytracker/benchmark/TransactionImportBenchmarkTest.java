@@ -0,0 +1,150 @@
+package com.eduardo.paytracker.benchmark;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.ImportFormat;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.MonthlyBalanceService;
+import com.eduardo.paytracker.service.TransactionImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates a 2M-row CSV statement on disk, imports it through TransactionImportService and reports rows/s,
+ * sampling the live heap (after a forced GC) every 200k rows read. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TransactionImportService.class, MonthlyBalanceService.class})
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:file:./target/importbench/db;MODE=PostgreSQL")
+class TransactionImportBenchmarkTest {
+
+    private static final int ROWS = 2_000_000;
+    private static final int INVALID_EVERY = 100_000;
+    private static final int SAMPLE_EVERY = 200_000;
+    private static final long MAX_HEAP_DRIFT_BYTES = 32L * 1024 * 1024;
+    private static final Path DATABASE_DIR = Path.of("target", "importbench");
+
+    static {
+        // Start from an empty file database; deleting millions of rows from a previous run costs more than the import.
+        FileSystemUtils.deleteRecursively(DATABASE_DIR.toFile());
+    }
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void csvImportRunsInBoundedMemory() throws Exception {
+        var userId = userRepository.save(new User(null, "Bench", "import@bench.com", "senha")).getId();
+        var file = generateCsv(tempDir.resolve("statement.csv"));
+
+        var baseline = liveHeap();
+        var start = System.nanoTime();
+        var samples = new ArrayList<Long>();
+        try (var input = new HeapSamplingInputStream(Files.newInputStream(file), samples)) {
+            var result = transactionImportService.importTransactions(userId, ImportFormat.CSV, input);
+            var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            var drift = samples.stream().mapToLong(Long::longValue).max().orElseThrow() - samples.getFirst();
+            System.out.printf("CSV import: %d rows, %d MB in %d ms (%.0f rows/s), heap after first sample %d KB, drift %d KB%n",
+                    result.totalRows(), Files.size(file) / (1024 * 1024), elapsedMillis,
+                    ROWS * 1000.0 / Math.max(elapsedMillis, 1), (samples.getFirst() - baseline) / 1024, drift / 1024);
+
+            assertThat(result.totalRows()).isEqualTo(ROWS);
+            assertThat(result.rejectedRows()).isEqualTo(ROWS / INVALID_EVERY);
+            assertThat(result.importedRows()).isEqualTo(ROWS - ROWS / INVALID_EVERY);
+            assertThat(result.errors()).allSatisfy(error -> assertThat(error.details()).containsKey("amount"));
+            assertThat(drift).isLessThan(MAX_HEAP_DRIFT_BYTES);
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class))
+                .isEqualTo(ROWS - ROWS / INVALID_EVERY);
+    }
+
+    private Path generateCsv(Path file) throws IOException {
+        var dueDate = LocalDate.now().plusDays(30);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("title,description,amount,dueDate,type\n");
+            for (int i = 1; i <= ROWS; i++) {
+                var amount = i % INVALID_EVERY == 0 ? "-1" : (i % 5000) + ".99";
+                writer.write("Conta " + i + ",\"Descrição, com \"\"aspas\"\" " + i + "\"," + amount + ","
+                        + dueDate.plusDays(i % 3650) + "," + (i % 2 == 0 ? "EXPENSE" : "INCOME") + "\n");
+            }
+        }
+        return file;
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Samples the heap whenever another SAMPLE_EVERY lines have been handed to the parser.
+     */
+    private static class HeapSamplingInputStream extends FilterInputStream {
+
+        private final List<Long> samples;
+        private long lines;
+
+        HeapSamplingInputStream(InputStream input, List<Long> samples) {
+            super(input);
+            this.samples = samples;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            for (int i = offset; i < offset + read; i++) {
+                if (buffer[i] == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                    samples.add(liveHeap());
+                }
+            }
+            return read;
+        }
+    }
+}
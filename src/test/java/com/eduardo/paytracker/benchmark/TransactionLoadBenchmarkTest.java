@@ -0,0 +1,251 @@
+package com.eduardo.paytracker.benchmark;
+
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.TokenService;
+import com.sun.management.OperatingSystemMXBean;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application once with platform request threads and once with
+ * {@code spring.threads.virtual.enabled=true}, then drives the same mix of transaction reads and PATCHes from
+ * {@value #CONCURRENCY} concurrent clients and prints throughput, latency percentiles, CPU time per request and the
+ * peak number of platform threads for each mode. Every SQL statement waits {@value #DB_ROUND_TRIP_MILLIS} ms first,
+ * standing in for the network round trip to PostgreSQL that the in-memory database does not have. On a host with few
+ * cores the run is CPU-bound, and the cost of parking deep request stacks shows up before any gain in concurrency does.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TransactionLoadBenchmarkTest {
+
+    private static final int USERS = 100;
+    private static final int TRANSACTIONS_PER_USER = 50;
+    private static final int CONCURRENCY = 1_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 20_000;
+    private static final int CLIENT_THREADS = 4;
+    private static final long DB_ROUND_TRIP_MILLIS = 2;
+
+    private static final String ROUND_TRIP_INSPECTOR = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.eduardo.paytracker.benchmark.TransactionLoadBenchmarkTest$RoundTripLatency";
+
+    private static final Map<String, String> results = new ConcurrentHashMap<>();
+
+    @AfterAll
+    static void compare() {
+        results.forEach((mode, result) -> System.out.println(mode + ": " + result));
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:loadbench-platform;DB_CLOSE_DELAY=-1",
+            ROUND_TRIP_INSPECTOR
+    })
+    class PlatformThreads extends LoadRun {
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:loadbench-virtual;DB_CLOSE_DELAY=-1",
+            ROUND_TRIP_INSPECTOR
+    })
+    class VirtualThreads extends LoadRun {
+    }
+
+    @ActiveProfiles("test")
+    @MockBean(JavaMailSender.class)
+    abstract class LoadRun {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private TokenService tokenService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(CLIENT_THREADS))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        private final List<String> tokens = new ArrayList<>();
+        private final List<long[]> transactionIds = new ArrayList<>();
+
+        @Test
+        void transactionEndpointsUnderLoad() throws Exception {
+            seed();
+            run(WARMUP_REQUESTS);
+
+            var threads = ManagementFactory.getThreadMXBean();
+            var os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            threads.resetPeakThreadCount();
+            var failures = new AtomicInteger();
+            var cpuStart = os.getProcessCpuTime();
+            var start = System.nanoTime();
+            var latencies = run(REQUESTS, failures);
+            var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            var cpuMicrosPerRequest = (os.getProcessCpuTime() - cpuStart) / 1_000 / REQUESTS;
+
+            Arrays.sort(latencies);
+            var mode = getClass().getSimpleName();
+            results.put(mode, String.format("%d requests in %d ms (%.0f req/s), p50 %d ms, p99 %d ms, max %d ms, "
+                            + "%d failed, %d us CPU per request on %d cores, peak platform threads %d",
+                    REQUESTS, elapsedMillis, REQUESTS * 1000.0 / Math.max(elapsedMillis, 1),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1],
+                    failures.get(), cpuMicrosPerRequest, os.getAvailableProcessors(), threads.getPeakThreadCount()));
+            System.out.println(mode + ": " + results.get(mode));
+
+            assertThat(failures.get()).isZero();
+        }
+
+        private void seed() {
+            var dueDate = LocalDate.now().plusDays(10);
+            for (int u = 0; u < USERS; u++) {
+                var user = userRepository.save(new User(null, "Carga " + u, "load" + u + "@bench.com", "senha"));
+                var rows = new ArrayList<Object[]>(TRANSACTIONS_PER_USER);
+                for (int i = 0; i < TRANSACTIONS_PER_USER; i++) {
+                    rows.add(new Object[]{"Conta " + i, "Carga", i + 10.5, Date.valueOf(LocalDate.now()),
+                            Date.valueOf(dueDate.plusDays(i)), i % 2 == 0 ? "EXPENSE" : "INCOME", user.getId()});
+                }
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO transactions (id, title, description, amount, created_at, due_date, type, user_id)
+                        VALUES (NEXT VALUE FOR transactions_seq, ?, ?, ?, ?, ?, ?, ?)
+                        """, rows);
+
+                tokens.add(tokenService.generateToken(user));
+                transactionIds.add(jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ?",
+                        Long.class, user.getId()).stream().mapToLong(Long::longValue).toArray());
+            }
+        }
+
+        private void run(int requests) throws InterruptedException {
+            run(requests, new AtomicInteger());
+        }
+
+        // Requests go out asynchronously on the same few client threads in both modes, so the client never competes
+        // with the server for virtual-thread carriers; at most CONCURRENCY of them are waiting on a response.
+        private long[] run(int requests, AtomicInteger failures) throws InterruptedException {
+            var latencies = new long[requests];
+            var permits = new Semaphore(CONCURRENCY);
+            var finished = new CountDownLatch(requests);
+            var pendingWrites = new ArrayList<CompletableFuture<?>>();
+            for (int u = 0; u < USERS; u++) {
+                pendingWrites.add(CompletableFuture.completedFuture(null));
+            }
+
+            for (int i = 0; i < requests; i++) {
+                var slot = i;
+                var user = ThreadLocalRandom.current().nextInt(USERS);
+                var write = slot % 4 == 3;
+                Supplier<CompletableFuture<?>> send = () -> {
+                    var start = System.nanoTime();
+                    return client.sendAsync(request(user, write), HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, error) -> {
+                                latencies[slot] = (System.nanoTime() - start) / 1_000_000;
+                                if (error != null || response.statusCode() >= 300) {
+                                    failures.incrementAndGet();
+                                }
+                                permits.release();
+                                finished.countDown();
+                            });
+                };
+
+                permits.acquire();
+                if (write) {
+                    // A user does not PATCH from hundreds of devices at once; chaining their writes also keeps the
+                    // benchmark off H2's row-lock timeouts on the shared monthly_balance row.
+                    pendingWrites.set(user, pendingWrites.get(user).handle((response, error) -> null)
+                            .thenCompose(ignored -> send.get()));
+                } else {
+                    send.get();
+                }
+            }
+
+            finished.await();
+            return latencies;
+        }
+
+        // Mixes a single read, a multi-get and a page of the listing in equal parts, plus a partial update for every
+        // fourth request.
+        private HttpRequest request(int user, boolean write) {
+            var random = ThreadLocalRandom.current();
+            var ids = transactionIds.get(user);
+            var id = ids[random.nextInt(ids.length)];
+            var builder = HttpRequest.newBuilder().header("Authorization", "Bearer " + tokens.get(user))
+                    .timeout(Duration.ofSeconds(60));
+
+            if (write) {
+                return builder.uri(uri("/transaction/" + id))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"amount\": " + (random.nextInt(10_000) + 1) + ".00}"))
+                        .build();
+            }
+            return switch (random.nextInt(3)) {
+                case 0 -> builder.uri(uri("/transaction/" + id)).GET().build();
+                case 1 -> builder.uri(uri("/transaction?ids=" + ids[0] + "," + id + "," + ids[ids.length - 1]))
+                        .GET().build();
+                default -> builder.uri(uri("/transaction?page=0&size=20")).GET().build();
+            };
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    public static class RoundTripLatency implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            LockSupport.parkNanos(Duration.ofMillis(DB_ROUND_TRIP_MILLIS).toNanos());
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.eduardo.paytracker.config.security;
+
+import com.eduardo.paytracker.exception.TokenException;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityFilterTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken() {
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+
+    @Test
+    void givenStatelessMode_whenTokenHasUserId_thenBuildsPrincipalWithoutDatabase() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", true);
+        when(tokenService.validateToken("token")).thenReturn(new TokenClaims("edu@email.com", 1L, 0));
+        when(tokenVersionCache.isCurrent(1L, 0)).thenReturn(true);
+
+        securityFilter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        var principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(1L, principal.id());
+        assertEquals("edu@email.com", principal.email());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenStatelessMode_whenTokenVersionIsOutdated_thenReturnsUnauthorized() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", true);
+        when(tokenService.validateToken("token")).thenReturn(new TokenClaims("edu@email.com", 1L, 0));
+        when(tokenVersionCache.isCurrent(1L, 0)).thenReturn(false);
+
+        var response = new MockHttpServletResponse();
+        securityFilter.doFilter(requestWithToken(), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void givenStatelessMode_whenTokenHasNoUserId_thenLoadsUser() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", true);
+        when(tokenService.validateToken("token")).thenReturn(new TokenClaims("edu@email.com", null, null));
+        when(userRepository.findByEmail("edu@email.com")).thenReturn(new User(1L, "Edu", "edu@email.com", "senha"));
+
+        securityFilter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        var principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(1L, principal.id());
+    }
+
+    @Test
+    void givenStrictMode_whenTokenVersionIsOutdated_thenReturnsUnauthorized() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", false);
+        when(tokenService.validateToken("token")).thenReturn(new TokenClaims("edu@email.com", 1L, 0));
+        when(userRepository.findByEmail("edu@email.com")).thenReturn(new User(1L, "Edu", "edu@email.com", "senha", 1));
+
+        var response = new MockHttpServletResponse();
+        securityFilter.doFilter(requestWithToken(), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void givenInvalidToken_whenFilter_thenReturnsUnauthorized() throws Exception {
+        when(tokenService.validateToken("token")).thenThrow(new TokenException("Invalid or expired token!"));
+
+        var response = new MockHttpServletResponse();
+        securityFilter.doFilter(requestWithToken(), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,72 @@
+package com.eduardo.paytracker.config.security;
+
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives a stateless token through the whole filter chain: it must stop working once its user logs out.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@MockBean(JavaMailSender.class)
+class TokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void givenTokenIssuedBeforeLogout_whenUsedAfterLogout_thenReturnsUnauthorized() throws Exception {
+        var user = userRepository.save(new User(null, "Edu", "edu@email.com", "senha"));
+        var token = "Bearer " + tokenService.generateToken(user);
+        var other = "Bearer " + tokenService.generateToken(user);
+
+        mockMvc.perform(get("/transaction/summary").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", other))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/transaction/summary").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/transaction/summary").header("Authorization", other))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void givenTokenIssuedAfterLogout_whenUsed_thenIsAccepted() throws Exception {
+        var user = userRepository.save(new User(null, "Edu", "edu@email.com", "senha"));
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + tokenService.generateToken(user)))
+                .andExpect(status().isNoContent());
+
+        var fresh = userRepository.findById(user.getId()).orElseThrow();
+        mockMvc.perform(get("/transaction/summary").header("Authorization", "Bearer " + tokenService.generateToken(fresh)))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,5 +1,6 @@
 package com.eduardo.paytracker.controller;
 
+import com.eduardo.paytracker.config.security.TokenVersionCache;
 import com.eduardo.paytracker.dto.AuthRequestDTO;
 import com.eduardo.paytracker.dto.RegisterRequestDTO;
 import com.eduardo.paytracker.exception.ExistentUserException;
@@ -51,6 +52,11 @@ class AuthenticationControllerTest {
         UserRepository userRepository() {
             return mock(UserRepository.class);
         }
+
+        @Bean
+        TokenVersionCache tokenVersionCache() {
+            return mock(TokenVersionCache.class);
+        }
     }
 
     @jakarta.annotation.Resource
@@ -123,4 +129,12 @@ class AuthenticationControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isConflict());
     }
+
+    @Test
+    void givenAuthenticatedUser_whenLogout_thenReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isNoContent());
+
+        verify(authenticationService).logout();
+    }
 }
@@ -1,12 +1,30 @@
 package com.eduardo.paytracker.controller;
 
+import com.eduardo.paytracker.config.security.TokenVersionCache;
+import com.eduardo.paytracker.dto.MonthlyBalanceDTO;
+import com.eduardo.paytracker.dto.TransactionBatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionBulkResultDTO;
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionBulkUpdateRequestDTO;
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.dto.TransactionImportErrorDTO;
+import com.eduardo.paytracker.dto.TransactionImportResultDTO;
+import com.eduardo.paytracker.dto.TransactionLookupResponseDTO;
 import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
 import com.eduardo.paytracker.dto.TransactionRequestDTO;
 import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.dto.TransactionSliceResponseDTO;
 import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.exception.InvalidPeriodException;
 import com.eduardo.paytracker.exception.TransactionNotFoundException;
+import com.eduardo.paytracker.exception.TransactionVersionMismatchException;
 import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.model.enums.ExportFormat;
+import com.eduardo.paytracker.model.enums.ImportFormat;
+import com.eduardo.paytracker.service.MonthlyBalanceService;
 import com.eduardo.paytracker.service.TokenService;
+import com.eduardo.paytracker.service.TransactionExportService;
+import com.eduardo.paytracker.service.TransactionImportService;
 import com.eduardo.paytracker.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -18,14 +36,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +65,21 @@ class TransactionControllerTest {
             return mock(TransactionService.class);
         }
 
+        @Bean
+        TransactionExportService transactionExportService() {
+            return mock(TransactionExportService.class);
+        }
+
+        @Bean
+        TransactionImportService transactionImportService() {
+            return mock(TransactionImportService.class);
+        }
+
+        @Bean
+        MonthlyBalanceService monthlyBalanceService() {
+            return mock(MonthlyBalanceService.class);
+        }
+
         @Bean
         TokenService tokenService() {
             return mock(TokenService.class);
@@ -51,6 +89,11 @@ class TransactionControllerTest {
         UserRepository userRepository() {
             return mock(UserRepository.class);
         }
+
+        @Bean
+        TokenVersionCache tokenVersionCache() {
+            return mock(TokenVersionCache.class);
+        }
     }
 
     @jakarta.annotation.Resource
@@ -59,6 +102,15 @@ class TransactionControllerTest {
     @jakarta.annotation.Resource
     private TransactionService transactionService;
 
+    @jakarta.annotation.Resource
+    private TransactionExportService transactionExportService;
+
+    @jakarta.annotation.Resource
+    private TransactionImportService transactionImportService;
+
+    @jakarta.annotation.Resource
+    private MonthlyBalanceService monthlyBalanceService;
+
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
 
@@ -74,7 +126,7 @@ class TransactionControllerTest {
 
         TransactionResponseDTO response = new TransactionResponseDTO(
                 1L, "Salário", "Recebimento mensal", new BigDecimal("3500.00"),
-                hoje, vencimento, TransactionType.INCOME, 1L
+                hoje, vencimento, TransactionType.INCOME, 1L, 0L
         );
 
         when(transactionService.createTransaction(any())).thenReturn(response);
@@ -88,11 +140,45 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.userId", is(1)));
     }
 
+    @Test
+    void givenValidBatch_whenCreateBatch_thenReturnsCreated() throws Exception {
+        var futureDueDate = LocalDate.now().plusDays(10);
+        var request = new TransactionBatchRequestDTO(List.of(
+                new TransactionRequestDTO("Luz", "Maio", new BigDecimal("120.00"), futureDueDate, TransactionType.EXPENSE),
+                new TransactionRequestDTO("Água", "Maio", new BigDecimal("80.00"), futureDueDate, TransactionType.EXPENSE)
+        ));
+
+        when(transactionService.createTransactions(any())).thenReturn(List.of(
+                new TransactionResponseDTO(1L, "Luz", "Maio", new BigDecimal("120.00"), hoje, futureDueDate, TransactionType.EXPENSE, 1L, 0L),
+                new TransactionResponseDTO(2L, "Água", "Maio", new BigDecimal("80.00"), hoje, futureDueDate, TransactionType.EXPENSE, 1L, 0L)
+        ));
+
+        mockMvc.perform(post("/transaction/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].title", is("Luz")))
+                .andExpect(jsonPath("$[1].title", is("Água")));
+    }
+
+    @Test
+    void givenBatchWithInvalidItem_whenCreateBatch_thenReturnsBadRequest() throws Exception {
+        var request = new TransactionBatchRequestDTO(List.of(
+                new TransactionRequestDTO("", "Maio", new BigDecimal("120.00"), LocalDate.now().plusDays(10), TransactionType.EXPENSE)
+        ));
+
+        mockMvc.perform(post("/transaction/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details['transactions[0].title']").exists());
+    }
+
     @Test
     void givenExistingTransactions_whenGetAll_thenReturnsList() throws Exception {
         TransactionResponseDTO response = new TransactionResponseDTO(
                 1L, "Aluguel", "Maio", new BigDecimal("1200.00"),
-                hoje, vencimento, TransactionType.EXPENSE, 1L
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
         );
 
         when(transactionService.getAllTransactions(any(Pageable.class)))
@@ -104,11 +190,154 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.content[0].userId", is(1)));
     }
 
+    @Test
+    void givenFilters_whenGetAll_thenSearchesWithThem() throws Exception {
+        var filter = new TransactionFilterDTO(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30),
+                TransactionType.EXPENSE, new BigDecimal("100"), null, null, null);
+
+        when(transactionService.searchTransactions(eq(filter), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        mockMvc.perform(get("/transaction")
+                        .param("dueDateFrom", "2025-04-01")
+                        .param("dueDateTo", "2025-04-30")
+                        .param("type", "EXPENSE")
+                        .param("minAmount", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(0)));
+
+        verify(transactionService).searchTransactions(eq(filter), any(Pageable.class));
+    }
+
+    @Test
+    void givenInvalidTypeFilter_whenGetAll_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/transaction").param("type", "SAVINGS"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCursorParam_whenGetAll_thenReturnsSlice() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(
+                1L, "Aluguel", "Maio", new BigDecimal("1200.00"),
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
+        );
+
+        when(transactionService.getTransactionsByCursor("", 10))
+                .thenReturn(new TransactionSliceResponseDTO(List.of(response), true, "next"));
+
+        mockMvc.perform(get("/transaction").param("cursor", "").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title", is("Aluguel")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void givenStatementFile_whenImport_thenReturnsSummary() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.ofx", "application/x-ofx", "<OFX></OFX>".getBytes());
+        var summary = new TransactionImportResultDTO(3, 2, 1,
+                List.of(new TransactionImportErrorDTO(2, Map.of("amount", "must be greater than 0"))));
+
+        when(transactionImportService.importTransactions(any(), eq(ImportFormat.OFX))).thenReturn(summary);
+
+        mockMvc.perform(multipart("/transaction/import").file(file).param("format", "OFX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows", is(2)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].details.amount", is("must be greater than 0")));
+    }
+
+    @Test
+    void givenNoFile_whenImport_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(multipart("/transaction/import"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCsvFormat_whenExport_thenStreamsAttachment() throws Exception {
+        when(transactionExportService.exportTransactions(ExportFormat.CSV))
+                .thenReturn(outputStream -> outputStream.write("id,title\n1,Aluguel\n".getBytes()));
+
+        var result = mockMvc.perform(get("/transaction/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.csv"))
+                .andExpect(content().string("id,title\n1,Aluguel\n"));
+    }
+
+    @Test
+    void givenUnknownFormat_whenExport_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/transaction/export").param("format", "XML"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenIdsParam_whenGetAll_thenReturnsLookup() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(
+                4L, "Internet", "Plano mensal", new BigDecimal("150.00"),
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
+        );
+
+        when(transactionService.getTransactionsByIds(List.of(4L, 8L)))
+                .thenReturn(new TransactionLookupResponseDTO(List.of(response), List.of(8L)));
+
+        mockMvc.perform(get("/transaction").param("ids", "4,8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(4)))
+                .andExpect(jsonPath("$.missingIds[0]", is(8)));
+    }
+
+    @Test
+    void givenNonNumericIds_whenGetAll_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/transaction").param("ids", "4,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenBulkUpdate_whenPatchBulk_thenReturnsAffectedCount() throws Exception {
+        var request = new TransactionBulkUpdateRequestDTO(
+                new TransactionBulkSelectionDTO(List.of(1L, 2L), null, null, null),
+                new TransactionPatchRequestDTO(null, null, null, null, TransactionType.INCOME));
+
+        when(transactionService.updateTransactions(request)).thenReturn(new TransactionBulkResultDTO(2));
+
+        mockMvc.perform(patch("/transaction/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)));
+    }
+
+    @Test
+    void givenBulkUpdateWithoutChanges_whenPatchBulk_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/transaction/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"selection\": {\"type\": \"EXPENSE\"}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenSelection_whenBulkDelete_thenReturnsAffectedCount() throws Exception {
+        var selection = new TransactionBulkSelectionDTO(null, TransactionType.EXPENSE, null, LocalDate.of(2024, 12, 31));
+
+        when(transactionService.deleteTransactions(selection)).thenReturn(new TransactionBulkResultDTO(37));
+
+        mockMvc.perform(post("/transaction/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(selection)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(37)));
+    }
+
     @Test
     void givenValidId_whenGetById_thenReturnsTransaction() throws Exception {
         TransactionResponseDTO response = new TransactionResponseDTO(
                 1L, "Internet", "Plano mensal", new BigDecimal("150.00"),
-                hoje, vencimento, TransactionType.EXPENSE, 1L
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
         );
 
         when(transactionService.getTransactionById(1L)).thenReturn(response);
@@ -119,6 +348,106 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.userId", is(1)));
     }
 
+    @Test
+    void givenMatchingIfNoneMatch_whenGetById_thenReturnsNotModifiedWithoutBody() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(
+                2L, "Internet", "Plano mensal", new BigDecimal("150.00"),
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 3L
+        );
+
+        when(transactionService.getTransactionById(2L)).thenReturn(response);
+
+        mockMvc.perform(get("/transaction/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+        mockMvc.perform(get("/transaction/2").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenUnchangedCollectionVersion_whenGetAll_thenReturnsNotModified() throws Exception {
+        when(transactionService.getTransactionsVersion()).thenReturn(7L);
+
+        var eTag = mockMvc.perform(get("/transaction").param("page", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/transaction").param("page", "3").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenETagOfAnotherPageOrFilter_whenGetAll_thenReturnsFullResponse() throws Exception {
+        when(transactionService.getTransactionsVersion()).thenReturn(7L);
+
+        var eTag = mockMvc.perform(get("/transaction").param("page", "3"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/transaction").param("page", "4").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+        mockMvc.perform(get("/transaction").param("page", "3").param("sort", "amount")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/transaction").param("page", "3").param("type", "EXPENSE")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void givenIfMatch_whenSpecificUpdate_thenPassesExpectedVersionAndReturnsNewETag() throws Exception {
+        TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+        TransactionResponseDTO response = new TransactionResponseDTO(
+                5L, "Luz", "Maio", new BigDecimal("120.00"),
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 3L
+        );
+
+        when(transactionService.transactionSpecificUpdate(any(), eq(5L), eq(2L))).thenReturn(response);
+
+        mockMvc.perform(patch("/transaction/5")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void givenStaleIfMatch_whenCompleteUpdate_thenReturnsPreconditionFailed() throws Exception {
+        TransactionRequestDTO update = new TransactionRequestDTO(
+                "Plano de Saúde", "Bradesco", new BigDecimal("450.00"),
+                LocalDate.now().plusDays(10), TransactionType.EXPENSE
+        );
+
+        when(transactionService.transactionCompleteUpdate(any(), eq(6L), eq(1L)))
+                .thenThrow(new TransactionVersionMismatchException());
+
+        mockMvc.perform(put("/transaction/6")
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void givenWeakIfMatch_whenSpecificUpdate_thenReturnsPreconditionFailed() throws Exception {
+        TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+
+        mockMvc.perform(patch("/transaction/7")
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void givenInvalidId_whenGetById_thenReturnsNotFound() throws Exception {
         when(transactionService.getTransactionById(99L))
@@ -134,10 +463,10 @@ class TransactionControllerTest {
 
         TransactionResponseDTO response = new TransactionResponseDTO(
                 1L, "Luz", "Atualizado", new BigDecimal("120.00"),
-                hoje, vencimento, TransactionType.EXPENSE, 1L
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
         );
 
-        when(transactionService.transactionSpecificUpdate(any(), eq(1L))).thenReturn(response);
+        when(transactionService.transactionSpecificUpdate(any(), eq(1L), isNull())).thenReturn(response);
 
         mockMvc.perform(patch("/transaction/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -157,10 +486,10 @@ class TransactionControllerTest {
 
         TransactionResponseDTO response = new TransactionResponseDTO(
                 1L, "Plano de Saúde", "Bradesco", new BigDecimal("450.00"),
-                hoje, vencimento, TransactionType.EXPENSE, 1L
+                hoje, vencimento, TransactionType.EXPENSE, 1L, 0L
         );
 
-        when(transactionService.transactionCompleteUpdate(any(), eq(1L))).thenReturn(response);
+        when(transactionService.transactionCompleteUpdate(any(), eq(1L), isNull())).thenReturn(response);
 
         mockMvc.perform(put("/transaction/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -180,4 +509,27 @@ class TransactionControllerTest {
 
         verify(transactionService).deleteTransaction(1L);
     }
+
+    @Test
+    void givenPeriod_whenGetMonthlySummary_thenReturnsOneEntryPerMonth() throws Exception {
+        when(monthlyBalanceService.getMonthlyBalances(YearMonth.of(2025, 4), YearMonth.of(2025, 5))).thenReturn(List.of(
+                new MonthlyBalanceDTO(LocalDate.of(2025, 4, 1), new BigDecimal("3500.00"), new BigDecimal("1200.00")),
+                new MonthlyBalanceDTO(LocalDate.of(2025, 5, 1), new BigDecimal("0.00"), new BigDecimal("80.00"))
+        ));
+
+        mockMvc.perform(get("/transaction/summary").param("from", "2025-04").param("to", "2025-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].month", is("2025-04")))
+                .andExpect(jsonPath("$[0].net", is(2300.00)))
+                .andExpect(jsonPath("$[1].net", is(-80.00)));
+    }
+
+    @Test
+    void givenStartAfterEnd_whenGetMonthlySummary_thenReturnsBadRequest() throws Exception {
+        when(monthlyBalanceService.getMonthlyBalances(YearMonth.of(2025, 6), YearMonth.of(2025, 5)))
+                .thenThrow(new InvalidPeriodException());
+
+        mockMvc.perform(get("/transaction/summary").param("from", "2025-06").param("to", "2025-05"))
+                .andExpect(status().isBadRequest());
+    }
 }
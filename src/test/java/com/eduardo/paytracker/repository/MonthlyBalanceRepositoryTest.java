@@ -0,0 +1,200 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.TransactionBatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionBulkUpdateRequestDTO;
+import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionRequestDTO;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.service.MonthlyBalanceService;
+import com.eduardo.paytracker.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TransactionService.class, MonthlyBalanceService.class})
+class MonthlyBalanceRepositoryTest {
+
+    @Autowired
+    private MonthlyBalanceRepository monthlyBalanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    private User user;
+    private final LocalDate abril = LocalDate.of(2025, 4, 1);
+    private final LocalDate maio = LocalDate.of(2025, 5, 1);
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.save(new User(null, "Eduardo", "balance@email.com", "senha123"));
+        when(authenticatedUserProvider.getUserId()).thenReturn(user.getId());
+    }
+
+    @Test
+    void shouldInsertMonthOnFirstWriteAndAccumulateAfterwards() {
+        monthlyBalanceRepository.addToMonth(user.getId(), abril, new BigDecimal("100.00"), BigDecimal.ZERO);
+        monthlyBalanceRepository.addToMonth(user.getId(), abril, new BigDecimal("-30.00"), new BigDecimal("45.50"));
+        monthlyBalanceRepository.addToMonth(user.getId(), maio, BigDecimal.ZERO, new BigDecimal("10.00"));
+
+        var balances = monthlyBalanceRepository.findMonthlyBalances(user.getId(), abril, maio);
+
+        assertThat(balances).hasSize(2);
+        assertThat(balances.get(0).income()).isEqualByComparingTo("70.00");
+        assertThat(balances.get(0).expense()).isEqualByComparingTo("45.50");
+        assertThat(balances.get(0).net()).isEqualByComparingTo("24.50");
+        assertThat(balances.get(1).net()).isEqualByComparingTo("-10.00");
+        assertThat(monthlyBalanceRepository.findMonthlyBalances(user.getId(), maio, maio)).hasSize(1);
+    }
+
+    /**
+     * Both writers find no row for the month and try to create it; the second has to wait for the first and then add
+     * to its row instead of failing on the primary key.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldAccumulateConcurrentFirstWritesToTheSameMonth() throws Exception {
+        var firstInserted = new CountDownLatch(1);
+        try {
+            var first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                monthlyBalanceRepository.addToMonth(user.getId(), abril, new BigDecimal("100.00"), BigDecimal.ZERO);
+                firstInserted.countDown();
+                sleep(300);
+            }));
+            var second = CompletableFuture.runAsync(() -> {
+                await(firstInserted);
+                transactionTemplate.executeWithoutResult(status -> monthlyBalanceRepository.addToMonth(
+                        user.getId(), abril, new BigDecimal("20.00"), new BigDecimal("5.00")));
+            });
+            CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+
+            var balance = monthlyBalanceRepository.findMonthlyBalances(user.getId(), abril, abril).getFirst();
+            assertThat(balance.income()).isEqualByComparingTo("120.00");
+            assertThat(balance.expense()).isEqualByComparingTo("5.00");
+        } finally {
+            jdbcTemplate.update("delete from monthly_balance where user_id = ?", user.getId());
+            jdbcTemplate.update("delete from users where id = ?", user.getId());
+        }
+    }
+
+    @Test
+    void shouldMatchTheSumOfTransactionsAfterEveryKindOfWrite() {
+        var aluguel = transactionService.createTransaction(new TransactionRequestDTO("Aluguel", "Abril",
+                new BigDecimal("1200.00"), LocalDate.of(2025, 4, 10), TransactionType.EXPENSE));
+        var lote = transactionService.createTransactions(new TransactionBatchRequestDTO(List.of(
+                new TransactionRequestDTO("Salário", "Abril", new BigDecimal("5000.00"), LocalDate.of(2025, 4, 5),
+                        TransactionType.INCOME),
+                new TransactionRequestDTO("Luz", "Maio", new BigDecimal("150.00"), LocalDate.of(2025, 5, 10),
+                        TransactionType.EXPENSE))));
+
+        // Moves the rent into May, turns the power bill into income and removes the salary.
+        transactionService.transactionSpecificUpdate(
+                new TransactionPatchRequestDTO(null, null, null, LocalDate.of(2025, 5, 2), null), aluguel.id(), null);
+        transactionService.transactionCompleteUpdate(new TransactionRequestDTO("Luz", "Reembolso",
+                new BigDecimal("90.00"), LocalDate.of(2025, 5, 10), TransactionType.INCOME), lote.get(1).id(), null);
+        transactionService.deleteTransaction(lote.get(0).id());
+        entityManager.flush();
+
+        var balances = monthlyBalanceRepository.findMonthlyBalances(user.getId(), abril, maio);
+
+        assertThat(balances).hasSize(2);
+        for (var balance : balances) {
+            var monthStart = balance.month().atDay(1);
+            assertThat(balance.income()).isEqualByComparingTo(sum(monthStart, TransactionType.INCOME));
+            assertThat(balance.expense()).isEqualByComparingTo(sum(monthStart, TransactionType.EXPENSE));
+        }
+        assertThat(balances.get(0).net()).isEqualByComparingTo("0");
+        assertThat(balances.get(1).net()).isEqualByComparingTo("-1110.00");
+    }
+
+    @Test
+    void shouldMatchTheSumOfTransactionsAfterBulkWrites() {
+        var lote = transactionService.createTransactions(new TransactionBatchRequestDTO(List.of(
+                new TransactionRequestDTO("Aluguel", "Abril", new BigDecimal("1200.00"), LocalDate.of(2025, 4, 10),
+                        TransactionType.EXPENSE),
+                new TransactionRequestDTO("Luz", "Abril", new BigDecimal("150.00"), LocalDate.of(2025, 4, 20),
+                        TransactionType.EXPENSE),
+                new TransactionRequestDTO("Água", "Maio", new BigDecimal("80.00"), LocalDate.of(2025, 5, 3),
+                        TransactionType.EXPENSE),
+                new TransactionRequestDTO("Salário", "Maio", new BigDecimal("5000.00"), LocalDate.of(2025, 5, 5),
+                        TransactionType.INCOME))));
+
+        // Pushes every April expense into May at a new amount, then removes the water bill and the salary.
+        var updated = transactionService.updateTransactions(new TransactionBulkUpdateRequestDTO(
+                new TransactionBulkSelectionDTO(null, TransactionType.EXPENSE, abril, abril.plusMonths(1).minusDays(1)),
+                new TransactionPatchRequestDTO(null, null, new BigDecimal("99.00"), LocalDate.of(2025, 5, 15), null)));
+        var deleted = transactionService.deleteTransactions(new TransactionBulkSelectionDTO(
+                List.of(lote.get(2).id(), lote.get(3).id()), null, null, null));
+        entityManager.flush();
+
+        assertThat(updated.affected()).isEqualTo(2);
+        assertThat(deleted.affected()).isEqualTo(2);
+        for (var monthStart : List.of(abril, maio)) {
+            var balance = monthlyBalanceRepository.findMonthlyBalances(user.getId(), monthStart, monthStart).getFirst();
+            assertThat(balance.income()).isEqualByComparingTo(sum(monthStart, TransactionType.INCOME));
+            assertThat(balance.expense()).isEqualByComparingTo(sum(monthStart, TransactionType.EXPENSE));
+        }
+        assertThat(sum(maio, TransactionType.EXPENSE)).isEqualByComparingTo("198.00");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BigDecimal sum(LocalDate monthStart, TransactionType type) {
+        return jdbcTemplate.queryForObject("""
+                select coalesce(sum(amount), 0) from transactions
+                where user_id = ? and type = ? and due_date between ? and ?
+                """, BigDecimal.class, user.getId(), type.name(), monthStart, monthStart.plusMonths(1).minusDays(1));
+    }
+}
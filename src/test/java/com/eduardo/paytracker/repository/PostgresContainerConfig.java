@@ -0,0 +1,20 @@
+package com.eduardo.paytracker.repository;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The production database for tests that extend an H2 test class to run it again on PostgreSQL. Needs Docker; run
+ * with {@code mvn test -Ppostgres}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresContainerConfig {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:15-alpine");
+    }
+}
@@ -0,0 +1,20 @@
+package com.eduardo.paytracker.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs every {@link MonthlyBalanceRepositoryTest} case on PostgreSQL, where a month is written with
+ * {@code ON CONFLICT DO UPDATE} instead of the {@code MERGE} H2 runs, racing first writes included.
+ */
+@Tag("postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.placeholders.concurrently=CONCURRENTLY"
+})
+class PostgresMonthlyBalanceRepositoryTest extends MonthlyBalanceRepositoryTest {
+}
@@ -0,0 +1,20 @@
+package com.eduardo.paytracker.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs every {@link TransactionRepositoryTest} case on PostgreSQL, where the writes take the {@code RETURNING} and
+ * {@code FOR UPDATE} statements instead of the {@code OLD TABLE} ones H2 runs.
+ */
+@Tag("postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.placeholders.concurrently=CONCURRENTLY"
+})
+class PostgresTransactionRepositoryTest extends TransactionRepositoryTest {
+}
@@ -0,0 +1,248 @@
+package com.eduardo.paytracker.repository;
+
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every TransactionRepository query on H2 in PostgreSQL mode, then EXPLAINs the SQL Hibernate
+ * actually issued and fails when the planner falls back to a full scan of any table. Searches must also seek on an
+ * index led by user_id; which one H2 picks among those depends on its statistics, so that is not checked.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.eduardo.paytracker.repository.CapturingStatementInspector"
+})
+class TransactionQueryPlanTest {
+
+    // H2 names the index it seeks on, and the condition it seeks with, in a comment after the table.
+    private static final Pattern TRANSACTIONS_INDEX = Pattern.compile(
+            "\"PUBLIC\"\\.\"TRANSACTIONS\" \"T1_0\"\\s*/\\* PUBLIC\\.(\\w+): ([^*]*)\\*/");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MonthlyBalanceRepository monthlyBalanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.save(new User(null, "Eduardo", "plan@email.com", "senha123"));
+        transaction = transactionRepository.save(new Transaction(null, "Aluguel", "Maio", new BigDecimal("1200"),
+                LocalDate.now(), LocalDate.now().plusDays(5), TransactionType.EXPENSE, user));
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void findAllTransactionsUsesIndex() {
+        transactionRepository.findAllTransactions(user.getId(), PageRequest.of(1, 1));
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findFirstTransactionsSliceUsesIndex() {
+        transactionRepository.findFirstTransactionsSlice(user.getId(), PageRequest.of(0, 10));
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findTransactionsSliceAfterUsesIndex() {
+        transactionRepository.findTransactionsSliceAfter(user.getId(), LocalDate.now(), 0L, PageRequest.of(0, 10));
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findTransactionResponseByIdUsesIndex() {
+        transactionRepository.findTransactionResponseById(user.getId(), transaction.getId());
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findTransactionResponsesByIdsUsesIndex() {
+        transactionRepository.findTransactionResponsesByIds(user.getId(), List.of(transaction.getId(), 0L));
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findTransactionByIdUsesIndex() {
+        transactionRepository.findTransactionById(user.getId(), transaction.getId());
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findRemindersByUserRangeUsesIndex() {
+        transactionRepository.findRemindersByUserRange(User.DEFAULT_TIME_ZONE, User.DEFAULT_SEND_HOUR,
+                reminderWindows(), 0L, 500L);
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findDueUserIdsUsesIndex() {
+        transactionRepository.findDueUserIds(User.DEFAULT_TIME_ZONE, User.DEFAULT_SEND_HOUR,
+                reminderWindows(), 0L, PageRequest.of(499, 1));
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findLastDueUserIdUsesIndex() {
+        transactionRepository.findLastDueUserId(User.DEFAULT_TIME_ZONE, User.DEFAULT_SEND_HOUR, reminderWindows(), 0L);
+
+        assertNoFullScan();
+    }
+
+    @Test
+    void findMonthlyBalancesUsesPrimaryKey() {
+        monthlyBalanceRepository.findMonthlyBalances(user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 1));
+
+        assertNoFullScan();
+    }
+
+    /**
+     * Runs all 16 combinations of the search filters: bit 0 type, bit 1 dueDate range, bit 2 amount range, bit 3
+     * createdAt range.
+     */
+    @ParameterizedTest(name = "filters {0}")
+    @MethodSource("filterCombinations")
+    void searchUsesIndexForEveryFilterCombination(int filters) {
+        var filter = new TransactionFilterDTO(
+                (filters & 2) != 0 ? LocalDate.now() : null,
+                (filters & 2) != 0 ? LocalDate.now().plusDays(30) : null,
+                (filters & 1) != 0 ? TransactionType.EXPENSE : null,
+                (filters & 4) != 0 ? new BigDecimal("100") : null,
+                (filters & 4) != 0 ? new BigDecimal("5000") : null,
+                (filters & 8) != 0 ? LocalDate.now().minusDays(30) : null,
+                (filters & 8) != 0 ? LocalDate.now() : null);
+
+        transactionRepository.searchTransactions(TransactionSpecifications.matching(user.getId(), filter),
+                PageRequest.of(1, 1));
+
+        assertThat(explain(selects())).as("query plans").allSatisfy(plan -> {
+            var seek = TRANSACTIONS_INDEX.matcher(plan);
+            assertThat(seek.find()).as("index seek on transactions in %s", plan).isTrue();
+            assertThat(userLedIndexes()).as("indexes led by user_id").contains(seek.group(1));
+            assertThat(seek.group(2)).as("index condition").contains("USER_ID = ?");
+        });
+    }
+
+    @Test
+    void transactionsHaveNoIndexLedByDueDate() {
+        var dueDateLed = entityManager.createNativeQuery("""
+                select index_name from information_schema.index_columns
+                where table_name = 'TRANSACTIONS' and ordinal_position = 1 and column_name = 'DUE_DATE'
+                """).getResultList();
+
+        assertThat(dueDateLed).isEmpty();
+    }
+
+    static IntStream filterCombinations() {
+        return IntStream.range(0, 16);
+    }
+
+    private List<LocalDate> reminderWindows() {
+        return List.of(LocalDate.now().plusDays(7), LocalDate.now().plusDays(5), LocalDate.now());
+    }
+
+    // Names of the transactions indexes whose first column is user_id.
+    private Set<String> userLedIndexes() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            var indexes = new HashSet<String>();
+            try (var statement = connection.prepareStatement("""
+                    select index_name from information_schema.index_columns
+                    where table_name = 'TRANSACTIONS' and ordinal_position = 1 and column_name = 'USER_ID'
+                    """); var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    indexes.add(resultSet.getString(1));
+                }
+            }
+            return indexes;
+        });
+    }
+
+    private List<String> selects() {
+        var statements = CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("select"))
+                .toList();
+
+        assertThat(statements).isNotEmpty();
+        return statements;
+    }
+
+    private void assertNoFullScan() {
+        for (var plan : explain(selects())) {
+            assertThat(plan).as("query plan").doesNotContain(".tableScan");
+        }
+    }
+
+    private List<String> explain(List<String> statements) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            var plans = new ArrayList<String>();
+            for (var sql : statements) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                    bindNulls(explain);
+                    try (var resultSet = explain.executeQuery()) {
+                        while (resultSet.next()) {
+                            plans.add(resultSet.getString(1));
+                        }
+                    }
+                }
+            }
+            return plans;
+        });
+    }
+
+    private void bindNulls(PreparedStatement statement) throws SQLException {
+        var parameterCount = statement.getParameterMetaData().getParameterCount();
+        for (int i = 1; i <= parameterCount; i++) {
+            statement.setObject(i, null);
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.eduardo.paytracker.repository;
 
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
+import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
 import com.eduardo.paytracker.model.enums.TransactionType;
 import com.eduardo.paytracker.model.Transaction;
 import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.repository.TransactionWriteRepository.MonthTotal;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,7 +58,7 @@ class TransactionRepositoryTest {
         var page = transactionRepository.findAllTransactions(user.getId(), PageRequest.of(0, 10));
 
         assertThat(page.getContent()).hasSize(2);
-        assertThat(page.getContent().get(0).getUser().getId()).isEqualTo(user.getId());
+        assertThat(page.getContent().get(0).userId()).isEqualTo(user.getId());
     }
 
     @Test
@@ -65,12 +72,321 @@ class TransactionRepositoryTest {
     }
 
     @Test
-    void shouldFindByDueDate() {
+    void shouldFindRemindersByUserRangeAndUserBoundaries() {
         LocalDate dueDate = LocalDate.now().plusDays(5);
+        String zone = User.DEFAULT_TIME_ZONE;
+        int hour = User.DEFAULT_SEND_HOUR;
 
-        List<Transaction> result = transactionRepository.findByDueDate(dueDate);
+        var result = transactionRepository.findRemindersByUserRange(zone, hour, List.of(dueDate), 0L, user.getId());
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTitle()).isEqualTo("Aluguel");
+        assertThat(result).singleElement().satisfies(reminder -> assertThat(reminder.userId()).isEqualTo(user.getId()));
+        assertThat(transactionRepository.findRemindersByUserRange(zone, hour, List.of(dueDate), user.getId(), Long.MAX_VALUE)).isEmpty();
+        assertThat(transactionRepository.findDueUserIds(zone, hour, List.of(dueDate), 0L, PageRequest.of(0, 5))).containsExactly(user.getId());
+        assertThat(transactionRepository.findDueUserIds(zone, hour, List.of(dueDate), 0L, PageRequest.of(1, 1))).isEmpty();
+        assertThat(transactionRepository.findLastDueUserId(zone, hour, List.of(dueDate), 0L)).isEqualTo(user.getId());
+        assertThat(transactionRepository.findLastDueUserId(zone, hour, List.of(dueDate), user.getId())).isNull();
+    }
+
+    @Test
+    void shouldLeaveOtherBucketsOutOfReminderQueries() {
+        LocalDate dueDate = LocalDate.now().plusDays(5);
+
+        assertThat(transactionRepository.findRemindersByUserRange("Asia/Tokyo", User.DEFAULT_SEND_HOUR,
+                List.of(dueDate), 0L, Long.MAX_VALUE)).isEmpty();
+        assertThat(transactionRepository.findLastDueUserId(User.DEFAULT_TIME_ZONE, 8, List.of(dueDate), 0L)).isNull();
+        assertThat(userRepository.findReminderBuckets()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.timeZone()).isEqualTo(User.DEFAULT_TIME_ZONE));
+    }
+
+    @Test
+    void shouldSearchWithAnyCombinationOfFilters() {
+        var other = userRepository.save(new User(null, "Outro", "outro@email.com", "senha123"));
+        transactionRepository.save(new Transaction(null, "Aluguel", "Outro", new BigDecimal("1200"), LocalDate.now(),
+                LocalDate.now().plusDays(5), TransactionType.EXPENSE, other));
+
+        var expenses = new TransactionFilterDTO(null, null, TransactionType.EXPENSE, null, null, null, null);
+        var dueSoon = new TransactionFilterDTO(LocalDate.now(), LocalDate.now().plusDays(7), null, null, null, null, null);
+        var aboveSalary = new TransactionFilterDTO(null, null, null, new BigDecimal("5000.01"), null, null, null);
+        var createdToday = new TransactionFilterDTO(null, null, TransactionType.INCOME, new BigDecimal("1000"),
+                new BigDecimal("5000"), LocalDate.now(), LocalDate.now());
+
+        assertThat(search(expenses)).extracting(TransactionResponseDTO::title).containsExactly("Aluguel");
+        assertThat(search(dueSoon)).extracting(TransactionResponseDTO::title).containsExactly("Aluguel");
+        assertThat(search(aboveSalary)).isEmpty();
+        assertThat(search(createdToday)).extracting(TransactionResponseDTO::title).containsExactly("Salário");
+    }
+
+    @Test
+    void shouldPageAndSortSearchResultsWithTotal() {
+        var all = new TransactionFilterDTO(null, null, null, new BigDecimal("0"), null, null, null);
+
+        var page = transactionRepository.searchTransactions(TransactionSpecifications.matching(user.getId(), all),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "amount")));
+
+        assertThat(page.getContent()).extracting(TransactionResponseDTO::title).containsExactly("Salário");
+        assertThat(page.getContent().getFirst().userId()).isEqualTo(user.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    private List<TransactionResponseDTO> search(TransactionFilterDTO filter) {
+        return transactionRepository.searchTransactions(TransactionSpecifications.matching(user.getId(), filter),
+                PageRequest.of(0, 10)).getContent();
+    }
+
+    @Test
+    void shouldPatchOwnedTransactionAndReturnBothVersions() {
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+        var patch = new TransactionPatchRequestDTO("Luz", null, new BigDecimal("150.00"), null, null);
+
+        var update = transactionRepository.updateTransaction(user.getId(), saved.getId(), patch, null).orElseThrow();
+
+        assertThat(update.previous().title()).isEqualTo(saved.getTitle());
+        assertThat(update.previous().amount()).isEqualByComparingTo(saved.getAmount());
+        assertThat(update.current()).isEqualTo(new TransactionResponseDTO(saved.getId(), "Luz", saved.getDescription(),
+                new BigDecimal("150.00"), saved.getCreatedAt(), saved.getDueDate(), saved.getType(), user.getId(), saved.getVersion() + 1));
+        assertThat(transactionRepository.findTransactionResponseById(user.getId(), saved.getId()))
+                .isEqualTo(update.current());
+    }
+
+    @Test
+    void shouldUpdateOnlyWhenExpectedVersionMatches() {
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+        var patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+
+        var update = transactionRepository.updateTransaction(user.getId(), saved.getId(), patch, saved.getVersion());
+
+        assertThat(update).hasValueSatisfying(row -> assertThat(row.current().version()).isEqualTo(saved.getVersion() + 1));
+        assertThat(transactionRepository.updateTransaction(user.getId(), saved.getId(), patch, saved.getVersion()))
+                .isEmpty();
+        assertThat(transactionRepository.findTransactionResponseById(user.getId(), saved.getId()).version())
+                .isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void shouldIncrementTransactionsVersionOfUser() {
+        var before = userRepository.findTransactionsVersion(user.getId()).orElseThrow();
+
+        userRepository.incrementTransactionsVersion(user.getId());
+
+        assertThat(userRepository.findTransactionsVersion(user.getId())).contains(before + 1);
+    }
+
+    @Test
+    void shouldReturnNoTransactionsVersionForMissingUser() {
+        assertThat(userRepository.findTransactionsVersion(-1L)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteOwnedTransactionAndReturnIt() {
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+
+        var deleted = transactionRepository.deleteTransaction(user.getId(), saved.getId());
+
+        assertThat(deleted).hasValueSatisfying(row -> assertThat(row.id()).isEqualTo(saved.getId()));
+        assertThat(transactionRepository.findTransactionResponseById(user.getId(), saved.getId())).isNull();
+    }
+
+    @Test
+    void shouldNotWriteTransactionsOfAnotherUser() {
+        var other = userRepository.save(new User(null, "Outro", "outro@email.com", "senha123"));
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+        var patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+
+        assertThat(transactionRepository.updateTransaction(other.getId(), saved.getId(), patch, null)).isEmpty();
+        assertThat(transactionRepository.deleteTransaction(other.getId(), saved.getId())).isEmpty();
+        assertThat(transactionRepository.findTransactionResponseById(user.getId(), saved.getId()).title())
+                .isEqualTo(saved.getTitle());
+    }
+
+    @Test
+    void shouldFindOnlyOwnedTransactionsByIds() {
+        var other = userRepository.save(new User(null, "Outro", "outro@email.com", "senha123"));
+        var foreign = transactionRepository.save(new Transaction(null, "Aluguel", "Outro", new BigDecimal("1200"),
+                LocalDate.now(), LocalDate.now().plusDays(5), TransactionType.EXPENSE, other));
+        var owned = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getUser().getId().equals(user.getId()))
+                .map(Transaction::getId)
+                .toList();
+        entityManager.flush();
+
+        var ids = new ArrayList<>(owned);
+        ids.add(foreign.getId());
+        ids.add(Long.MAX_VALUE);
+
+        assertThat(transactionRepository.findTransactionResponsesByIds(user.getId(), ids))
+                .extracting(TransactionResponseDTO::id).containsExactlyInAnyOrderElementsOf(owned);
+    }
+
+    @Test
+    void shouldBulkUpdateOnlyTheSelectedRowsOfTheUser() {
+        var other = userRepository.save(new User(null, "Outro", "outro@email.com", "senha123"));
+        transactionRepository.save(new Transaction(null, "Aluguel", "Outro", new BigDecimal("1200"), LocalDate.now(),
+                LocalDate.now().plusDays(5), TransactionType.EXPENSE, other));
+        entityManager.flush();
+        entityManager.clear();
+
+        var selection = new TransactionBulkSelectionDTO(null, TransactionType.EXPENSE, LocalDate.now(),
+                LocalDate.now().plusDays(7));
+        var updated = transactionRepository.updateTransactions(user.getId(), selection,
+                new TransactionPatchRequestDTO(null, "Revisado", null, null, null));
+
+        var month = LocalDate.now().plusDays(5).withDayOfMonth(1);
+        assertThat(updated.count()).isEqualTo(1);
+        assertThat(updated.previous()).containsExactly(new MonthTotal(month, TransactionType.EXPENSE,
+                new BigDecimal("1200.00"), 1));
+        assertThat(updated.current()).isEqualTo(updated.previous());
+        assertThat(transactionRepository.findAll()).filteredOn(t -> t.getDescription().equals("Revisado")).hasSize(1);
+    }
+
+    @Test
+    void shouldSumBulkUpdatedRowsPerMonthBeforeAndAfterThePatch() {
+        var first = LocalDate.of(2025, 4, 10);
+        transactionRepository.saveAll(List.of(
+                new Transaction(null, "Luz", "Abril", new BigDecimal("150"), LocalDate.now(), first,
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Água", "Abril", new BigDecimal("80"), LocalDate.now(), first.plusDays(10),
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Bônus", "Maio", new BigDecimal("300"), LocalDate.now(), first.plusMonths(1),
+                        TransactionType.INCOME, user)));
+        entityManager.flush();
+        entityManager.clear();
+
+        var updated = transactionRepository.updateTransactions(user.getId(),
+                new TransactionBulkSelectionDTO(null, null, first, first.plusMonths(1)),
+                new TransactionPatchRequestDTO(null, null, new BigDecimal("99"), LocalDate.of(2025, 6, 15), null));
+
+        assertThat(updated.count()).isEqualTo(3);
+        assertThat(updated.previous()).containsExactlyInAnyOrder(
+                new MonthTotal(LocalDate.of(2025, 4, 1), TransactionType.EXPENSE, new BigDecimal("230.00"), 2),
+                new MonthTotal(LocalDate.of(2025, 5, 1), TransactionType.INCOME, new BigDecimal("300.00"), 1));
+        assertThat(updated.current()).containsExactlyInAnyOrder(
+                new MonthTotal(LocalDate.of(2025, 6, 1), TransactionType.EXPENSE, new BigDecimal("198.00"), 2),
+                new MonthTotal(LocalDate.of(2025, 6, 1), TransactionType.INCOME, new BigDecimal("99.00"), 1));
+    }
+
+    @Test
+    void shouldGroupBulkUpdatedRowsByThePatchedType() {
+        var first = LocalDate.of(2025, 4, 10);
+        transactionRepository.saveAll(List.of(
+                new Transaction(null, "Luz", "Abril", new BigDecimal("150"), LocalDate.now(), first,
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Bônus", "Abril", new BigDecimal("300"), LocalDate.now(), first.plusDays(5),
+                        TransactionType.INCOME, user)));
+        entityManager.flush();
+        entityManager.clear();
+
+        var updated = transactionRepository.updateTransactions(user.getId(),
+                new TransactionBulkSelectionDTO(null, null, first, first.plusDays(5)),
+                new TransactionPatchRequestDTO(null, null, null, null, TransactionType.INCOME));
+
+        var april = LocalDate.of(2025, 4, 1);
+        assertThat(updated.previous()).containsExactlyInAnyOrder(
+                new MonthTotal(april, TransactionType.EXPENSE, new BigDecimal("150.00"), 1),
+                new MonthTotal(april, TransactionType.INCOME, new BigDecimal("300.00"), 1));
+        assertThat(updated.current()).containsExactly(
+                new MonthTotal(april, TransactionType.INCOME, new BigDecimal("450.00"), 2));
+    }
+
+    @Test
+    void shouldSumBulkDeletedRowsPerMonthAndType() {
+        var first = LocalDate.of(2025, 4, 10);
+        transactionRepository.saveAll(List.of(
+                new Transaction(null, "Luz", "Abril", new BigDecimal("150"), LocalDate.now(), first,
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Água", "Abril", new BigDecimal("80"), LocalDate.now(), first.plusDays(10),
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Bônus", "Maio", new BigDecimal("300"), LocalDate.now(), first.plusMonths(1),
+                        TransactionType.INCOME, user)));
+        entityManager.flush();
+        entityManager.clear();
+
+        var deleted = transactionRepository.deleteTransactions(user.getId(),
+                new TransactionBulkSelectionDTO(null, null, first, first.plusMonths(1)));
+
+        assertThat(deleted.count()).isEqualTo(3);
+        assertThat(deleted.previous()).containsExactlyInAnyOrder(
+                new MonthTotal(LocalDate.of(2025, 4, 1), TransactionType.EXPENSE, new BigDecimal("230.00"), 2),
+                new MonthTotal(LocalDate.of(2025, 5, 1), TransactionType.INCOME, new BigDecimal("300.00"), 1));
+        assertThat(deleted.current()).isEmpty();
+    }
+
+    @Test
+    void shouldBulkDeleteByIdsWithinTheUser() {
+        var other = userRepository.save(new User(null, "Outro", "outro@email.com", "senha123"));
+        var foreign = transactionRepository.save(new Transaction(null, "Aluguel", "Outro", new BigDecimal("1200"),
+                LocalDate.now(), LocalDate.now().plusDays(5), TransactionType.EXPENSE, other));
+        var ids = new ArrayList<>(transactionRepository.findAll().stream().map(Transaction::getId).toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        var deleted = transactionRepository.deleteTransactions(user.getId(),
+                new TransactionBulkSelectionDTO(ids, null, null, null));
+
+        assertThat(deleted.count()).isEqualTo(2);
+        assertThat(deleted.previous()).extracting(MonthTotal::type)
+                .containsExactlyInAnyOrder(TransactionType.EXPENSE, TransactionType.INCOME);
+        assertThat(deleted.current()).isEmpty();
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getId).containsExactly(foreign.getId());
+    }
+
+    @Test
+    void shouldPageTransactionsByKeysetCursor() {
+        var firstSlice = transactionRepository.findFirstTransactionsSlice(user.getId(), PageRequest.of(0, 1));
+
+        assertThat(firstSlice.getContent()).hasSize(1);
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(firstSlice.getContent().get(0).title()).isEqualTo("Aluguel");
+
+        var last = firstSlice.getContent().get(0);
+        var nextSlice = transactionRepository.findTransactionsSliceAfter(
+                user.getId(), last.dueDate(), last.id(), PageRequest.of(0, 1));
+
+        assertThat(nextSlice.getContent()).hasSize(1);
+        assertThat(nextSlice.hasNext()).isFalse();
+        assertThat(nextSlice.getContent().get(0).title()).isEqualTo("Salário");
+    }
+
+    @Test
+    void shouldProjectTransactionResponseWithoutLoadingUser() {
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+
+        var result = transactionRepository.findTransactionResponseById(user.getId(), saved.getId());
+
+        assertThat(result).isNotNull();
+        assertThat(result.userId()).isEqualTo(user.getId());
+        assertThat(entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(entityManager.getReference(User.class, user.getId()))).isFalse();
+    }
+
+    @Test
+    void shouldLoadTransactionUserLazily() {
+        Transaction saved = transactionRepository.findAll().get(0);
+        entityManager.clear();
+
+        Transaction result = transactionRepository.findTransactionById(user.getId(), saved.getId());
+
+        assertThat(entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(result, "user")).isFalse();
+        assertThat(result.getUser().getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void shouldAllocateBatchIdsFromPooledSequence() {
+        var batch = List.of(
+                new Transaction(null, "Luz", "Maio", new BigDecimal("120"), LocalDate.now(),
+                        LocalDate.now().plusDays(3), TransactionType.EXPENSE, user),
+                new Transaction(null, "Água", "Maio", new BigDecimal("80"), LocalDate.now(),
+                        LocalDate.now().plusDays(4), TransactionType.EXPENSE, user));
+
+        var saved = transactionRepository.saveAll(batch);
+        entityManager.flush();
+
+        assertThat(saved).extracting(Transaction::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(saved.get(1).getId()).isEqualTo(saved.get(0).getId() + 1);
     }
 }
@@ -0,0 +1,241 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.config.scheduler.EmailDeliveryConfig;
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.model.enums.EmailOutboxStatus;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.EmailOutboxRepository;
+import com.eduardo.paytracker.service.EmailOutboxService;
+import com.eduardo.paytracker.service.EmailService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drains the outbox through a real JavaMailSender into GreenMail, an in-process SMTP server.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmailOutboxService.class, EmailService.class, EmailDeliveryWorker.class, EmailDeliveryConfig.class,
+        EmailDeliveryWorkerTest.MailConfig.class})
+@TestPropertySource(properties = {
+        "api.email.outbox.batch-size=2",
+        "api.email.outbox.workers=2",
+        "api.email.outbox.max-attempts=2",
+        "api.email.smtp.batch-size=2",
+        "api.email.smtp.max-messages-per-connection=2"
+})
+class EmailDeliveryWorkerTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        JavaMailSender mailSender() {
+            var sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+            return sender;
+        }
+    }
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailDeliveryWorker emailDeliveryWorker;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private ExecutorService emailDeliveryExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    private List<TransactionReminderDTO> reminders(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new TransactionReminderDTO(id, "Conta " + id, "Mensal", new BigDecimal("10.00"),
+                        LocalDate.now().plusDays(2), TransactionType.EXPENSE, id, "Eduardo", "user" + id + "@email.com"))
+                .toList();
+    }
+
+    @Test
+    void givenEnqueuedReminders_whenDrain_thenDeliversEveryMessageAndMarksSent() throws Exception {
+        emailOutboxService.enqueueReminders(reminders(5), LocalDate.now());
+
+        var claimed = emailDeliveryWorker.drain();
+
+        assertThat(claimed).isEqualTo(5);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo(EmailService.REMINDER_SUBJECT);
+        assertThat(emailOutboxRepository.findAll())
+                .allSatisfy(message -> {
+                    assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+                    assertThat(message.getAttempts()).isEqualTo(1);
+                    assertThat(message.getSentAt()).isNotNull();
+                });
+        assertThat(emailDeliveryWorker.drain()).isZero();
+    }
+
+    @Test
+    void givenSeveralDrains_whenDelivering_thenReusesTheSameBoundedPool() {
+        emailOutboxService.enqueueReminders(reminders(4), LocalDate.now());
+        emailDeliveryWorker.drain();
+        emailOutboxService.enqueueReminders(reminders(4), LocalDate.now().plusDays(1));
+        emailDeliveryWorker.drain();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(8);
+        assertThat(emailDeliveryExecutor.isShutdown()).isFalse();
+        assertThat(emailDeliveryExecutor).isInstanceOfSatisfying(ThreadPoolExecutor.class,
+                pool -> assertThat(pool.getLargestPoolSize()).isLessThanOrEqualTo(2));
+    }
+
+    @Test
+    void givenOneUndeliverableMessageInBatch_whenDrain_thenSendsTheOthersAndRetriesOnlyThatOne() throws Exception {
+        var batch = new java.util.ArrayList<>(reminders(3));
+        var bad = batch.get(1);
+        batch.set(1, new TransactionReminderDTO(bad.id(), bad.title(), bad.description(), bad.amount(), bad.dueDate(),
+                bad.type(), bad.userId(), bad.userName(), "invalid@@address..("));
+        emailOutboxService.enqueueReminders(batch, LocalDate.now());
+
+        emailDeliveryWorker.drain();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(emailOutboxRepository.findAll())
+                .filteredOn(message -> message.getStatus() == EmailOutboxStatus.PENDING)
+                .singleElement()
+                .satisfies(message -> assertThat(message.getRecipient()).isEqualTo("invalid@@address..("));
+    }
+
+    @Test
+    void givenSmtpDown_whenDrain_thenReschedulesWithBackoffAndGivesUpAfterMaxAttempts() {
+        emailOutboxService.enqueueReminders(reminders(1), LocalDate.now());
+        greenMail.stop();
+
+        emailDeliveryWorker.drain();
+
+        var retried = emailOutboxRepository.findAll().getFirst();
+        assertThat(retried.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotBlank();
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        assertThat(emailDeliveryWorker.drain()).as("not due yet").isZero();
+
+        makeDue();
+        emailDeliveryWorker.drain();
+
+        var failed = emailOutboxRepository.findAll().getFirst();
+        assertThat(failed.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void givenSmtpRecovers_whenRetryIsDue_thenDeliversOnNextDrain() {
+        emailOutboxService.enqueueReminders(reminders(1), LocalDate.now());
+        greenMail.stop();
+        emailDeliveryWorker.drain();
+
+        greenMail.start();
+        makeDue();
+        emailDeliveryWorker.drain();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(emailOutboxRepository.findAll().getFirst().getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+    }
+
+    @Test
+    void givenRowsLockedByAnotherWorker_whenClaim_thenSkipsThemInsteadOfWaiting() throws Exception {
+        emailOutboxService.enqueueReminders(reminders(4), LocalDate.now());
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var otherWorker = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            var rows = emailOutboxRepository.lockDueMessages(LocalDateTime.now(), 2);
+            locked.countDown();
+            await(release);
+            return rows.stream().map(EmailOutbox::getId).toList();
+        }));
+
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        var claimedHere = emailOutboxService.claim(4).stream().map(EmailOutbox::getId).toList();
+        release.countDown();
+
+        assertThat(claimedHere).hasSize(2).doesNotContainAnyElementsOf(otherWorker.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenFinishedMessagesPastRetention_whenPurge_thenDeletesOnlyThose() {
+        emailOutboxService.enqueueReminders(reminders(5), LocalDate.now());
+        var ids = emailOutboxRepository.findAll().stream().map(EmailOutbox::getId).sorted().toList();
+        var old = LocalDateTime.now().minusDays(31);
+        var recent = LocalDateTime.now().minusDays(1);
+        setState(ids.get(0), "SENT", old);
+        setState(ids.get(1), "FAILED", old);
+        setState(ids.get(2), "SENT", recent);
+        setState(ids.get(3), "PENDING", old);
+
+        assertThat(emailOutboxService.purgeFinished(LocalDateTime.now())).isEqualTo(2);
+        assertThat(emailOutboxRepository.findAll()).extracting(EmailOutbox::getId)
+                .containsExactlyInAnyOrder(ids.get(2), ids.get(3), ids.get(4));
+    }
+
+    private void setState(Long id, String status, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = ?, next_attempt_at = ? WHERE id = ?",
+                status, nextAttemptAt, id);
+    }
+
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
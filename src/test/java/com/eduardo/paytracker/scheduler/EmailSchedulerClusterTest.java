@@ -0,0 +1,359 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.model.ReminderBucketKey;
+import com.eduardo.paytracker.model.ReminderChunk;
+import com.eduardo.paytracker.model.ReminderRunKey;
+import com.eduardo.paytracker.model.ReminderWatermark;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.ReminderChunkStatus;
+import com.eduardo.paytracker.model.enums.ReminderMode;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.EmailOutboxRepository;
+import com.eduardo.paytracker.repository.ReminderChunkRepository;
+import com.eduardo.paytracker.repository.ReminderRunRepository;
+import com.eduardo.paytracker.repository.ReminderWatermarkRepository;
+import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.UserRepository;
+import com.eduardo.paytracker.service.EmailOutboxService;
+import com.eduardo.paytracker.service.EmailService;
+import com.eduardo.paytracker.service.ReminderRunService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reminder job from several threads at once, each standing in for a PayTracker node sharing the database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmailScheduler.class, ReminderRunService.class, EmailOutboxService.class, EmailService.class,
+        EmailSchedulerClusterTest.MailConfig.class})
+@TestPropertySource(properties = {
+        "api.reminders.chunk-size=2",
+        "api.reminders.mode=TRANSACTION",
+        "api.reminders.windows=2"
+})
+class EmailSchedulerClusterTest {
+
+    private static final int DUE_TRANSACTIONS = 7;
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        JavaMailSender mailSender() {
+            return new JavaMailSenderImpl();
+        }
+    }
+
+    @Autowired
+    private EmailScheduler emailScheduler;
+
+    @Autowired
+    private ReminderRunService reminderRunService;
+
+    @Autowired
+    private ReminderRunRepository reminderRunRepository;
+
+    @Autowired
+    private ReminderChunkRepository reminderChunkRepository;
+
+    @Autowired
+    private ReminderWatermarkRepository reminderWatermarkRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate vencimento = LocalDate.of(2025, 5, 5);
+    private final LocalDate execucao = vencimento.minusDays(2);
+    private final ReminderRunKey run = new ReminderRunKey(execucao, User.DEFAULT_TIME_ZONE, User.DEFAULT_SEND_HOUR);
+
+    @BeforeEach
+    void setup() {
+        var user = userRepository.save(new User(null, "Eduardo", "cluster@email.com", "senha123"));
+
+        transactionRepository.saveAll(IntStream.rangeClosed(1, DUE_TRANSACTIONS)
+                .mapToObj(i -> new Transaction(null, "Conta " + i, "Mensal", new BigDecimal("10.00"),
+                        vencimento.minusDays(10), vencimento, TransactionType.EXPENSE, user))
+                .toList());
+        transactionRepository.save(new Transaction(null, "Outra", "Mensal", new BigDecimal("10.00"),
+                vencimento.minusDays(10), vencimento.plusDays(1), TransactionType.EXPENSE, user));
+    }
+
+    @AfterEach
+    void cleanup() {
+        ReflectionTestUtils.setField(reminderRunService, "mode", ReminderMode.TRANSACTION);
+        ReflectionTestUtils.setField(reminderRunService, "windows", List.of(2));
+        ReflectionTestUtils.setField(reminderRunService, "maxCatchUpDates", 7);
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        jdbcTemplate.update("DELETE FROM reminder_watermark");
+        jdbcTemplate.update("DELETE FROM reminder_chunk");
+        jdbcTemplate.update("DELETE FROM reminder_run");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void givenDueUsers_whenPlan_thenSplitsThemIntoContiguousChunksOnlyOnce() {
+        addDueUsers("Ana", "Bruno", "Carla", "Davi");
+
+        assertThat(reminderRunService.plan(run)).isTrue();
+        assertThat(reminderRunService.plan(run)).isFalse();
+
+        var chunks = reminderChunkRepository.findByRun(run).stream()
+                .sorted((a, b) -> Long.compare(a.getAfterId(), b.getAfterId()))
+                .toList();
+
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.getFirst().getAfterId()).isZero();
+        for (int i = 1; i < chunks.size(); i++) {
+            assertThat(chunks.get(i).getAfterId()).isEqualTo(chunks.get(i - 1).getLastId());
+        }
+        assertThat(chunks).allMatch(chunk -> chunk.getStatus() == ReminderChunkStatus.PENDING);
+    }
+
+    @Test
+    void givenSeveralNodesFiringTogether_whenEnqueueReminders_thenEachTransactionIsEnqueuedExactlyOnce() throws Exception {
+        var start = new CountDownLatch(1);
+        var nodes = IntStream.range(0, 3)
+                .mapToObj(node -> CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return emailScheduler.enqueueReminders(run);
+                }))
+                .toList();
+
+        start.countDown();
+        var enqueued = 0L;
+        for (var node : nodes) {
+            enqueued += node.get(10, TimeUnit.SECONDS).enqueued();
+        }
+
+        var transactionIds = emailOutboxRepository.findAll().stream().map(EmailOutbox::getTransactionId).toList();
+        assertThat(enqueued).isEqualTo(DUE_TRANSACTIONS);
+        assertThat(transactionIds).hasSize(DUE_TRANSACTIONS).doesNotHaveDuplicates();
+        assertThat(reminderChunkRepository.countByRunAndStatus(run, ReminderChunkStatus.PENDING)).isZero();
+
+        assertThat(emailScheduler.enqueueReminders(run).enqueued()).as("rerun on any node").isZero();
+        assertThat(emailOutboxRepository.count()).isEqualTo(DUE_TRANSACTIONS);
+    }
+
+    @Test
+    void givenDigestMode_whenSeveralNodesRun_thenEachUserGetsOneEmailListingAllTheirTransactions() throws Exception {
+        ReflectionTestUtils.setField(reminderRunService, "mode", ReminderMode.DIGEST);
+        for (var name : List.of("Ana", "Bruno", "Carla")) {
+            var user = userRepository.save(new User(null, name, name.toLowerCase() + "@email.com", "senha123"));
+            transactionRepository.saveAll(IntStream.rangeClosed(1, 2)
+                    .mapToObj(i -> new Transaction(null, name + " " + i, "Mensal", new BigDecimal("10.00"),
+                            vencimento.minusDays(10), vencimento, TransactionType.EXPENSE, user))
+                    .toList());
+        }
+
+        var nodes = IntStream.range(0, 3)
+                .mapToObj(node -> CompletableFuture.supplyAsync(() -> emailScheduler.enqueueReminders(run)))
+                .toList();
+        var scanned = 0L;
+        for (var node : nodes) {
+            scanned += node.get(10, TimeUnit.SECONDS).scanned();
+        }
+
+        var digests = emailOutboxRepository.findAll();
+        assertThat(scanned).isEqualTo(DUE_TRANSACTIONS + 6);
+        assertThat(digests).hasSize(4)
+                .allMatch(digest -> digest.getTransactionId() == null)
+                .allMatch(digest -> digest.getSubject().equals(EmailService.DIGEST_SUBJECT));
+        assertThat(digests.stream().map(EmailOutbox::getRecipient))
+                .containsExactlyInAnyOrder("cluster@email.com", "ana@email.com", "bruno@email.com", "carla@email.com");
+        assertThat(digests).filteredOn(digest -> digest.getRecipient().equals("cluster@email.com")).singleElement()
+                .satisfies(digest -> assertThat(digest.getBody()).contains("Conta 1", "Conta 7"));
+        assertThat(reminderChunkRepository.findByRun(run))
+                .hasSize(2)
+                .allMatch(chunk -> chunk.getMode() == ReminderMode.DIGEST && chunk.getStatus() == ReminderChunkStatus.DONE);
+    }
+
+    @Test
+    void givenSeveralWindows_whenEnqueueReminders_thenOneRunCoversEveryWindowAndSkipsOtherDates() {
+        ReflectionTestUtils.setField(reminderRunService, "windows", List.of(7, 2, 0));
+        var user = userRepository.findAll().getFirst();
+        transactionRepository.saveAll(List.of(
+                new Transaction(null, "Hoje", "Mensal", new BigDecimal("10.00"), execucao.minusDays(10), execucao,
+                        TransactionType.EXPENSE, user),
+                new Transaction(null, "Semana", "Mensal", new BigDecimal("10.00"), execucao.minusDays(10),
+                        execucao.plusDays(7), TransactionType.EXPENSE, user),
+                new Transaction(null, "Fora", "Mensal", new BigDecimal("10.00"), execucao.minusDays(10),
+                        execucao.plusDays(5), TransactionType.EXPENSE, user)));
+
+        var stats = emailScheduler.enqueueReminders(run);
+
+        assertThat(stats.enqueued()).isEqualTo(DUE_TRANSACTIONS + 2);
+        assertThat(emailOutboxRepository.findAll())
+                .noneMatch(message -> message.getBody().contains("Fora"))
+                .anyMatch(message -> message.getBody().contains("Hoje") && message.getBody().contains("vence hoje")
+                        && message.getReminderWindow() == 0)
+                .anyMatch(message -> message.getBody().contains("Semana") && message.getBody().contains("vence em 7 dias")
+                        && message.getReminderWindow() == 7)
+                .filteredOn(message -> message.getBody().contains("Conta 1"))
+                .singleElement().satisfies(message -> {
+                    assertThat(message.getBody()).contains("vence em 2 dias");
+                    assertThat(message.getReminderWindow()).isEqualTo(2);
+                });
+        assertThat(reminderRunRepository.findById(run)).get()
+                .satisfies(run -> assertThat(run.getDueDates())
+                        .containsExactly(execucao.plusDays(7), vencimento, execucao));
+    }
+
+    @Test
+    void givenUsersInSeveralTimeZones_whenEnqueueDueRuns_thenOnlyBucketsPastTheirSendHourAreProcessed() {
+        // 12:00 UTC is 09:00 in São Paulo and 21:00 in Tokyo, both still on the run date.
+        var now = Instant.parse("2025-05-03T12:00:00Z");
+        var tokyo = userRepository.save(new User(null, "Kenji", "kenji@email.com", "senha123", 0, "Asia/Tokyo", 8));
+        var morning = userRepository.save(new User(null, "Ana", "ana@email.com", "senha123", 0,
+                User.DEFAULT_TIME_ZONE, 9));
+        for (var user : List.of(tokyo, morning)) {
+            transactionRepository.save(new Transaction(null, "Conta " + user.getName(), "Mensal",
+                    new BigDecimal("10.00"), vencimento.minusDays(10), vencimento, TransactionType.EXPENSE, user));
+        }
+
+        assertThat(reminderRunService.findDueRuns(now)).containsExactlyInAnyOrder(
+                new ReminderRunKey(execucao, "Asia/Tokyo", 8),
+                new ReminderRunKey(execucao, User.DEFAULT_TIME_ZONE, 9));
+
+        var stats = emailScheduler.enqueueDueRuns(now);
+
+        assertThat(stats).hasSize(2).allMatch(run -> run.enqueued() == 1);
+        assertThat(emailOutboxRepository.findAll().stream().map(EmailOutbox::getRecipient))
+                .containsExactlyInAnyOrder("kenji@email.com", "ana@email.com");
+        assertThat(reminderRunService.findDueRuns(now)).as("buckets already sent").isEmpty();
+        assertThat(reminderRunService.findDueRuns(Instant.parse("2025-05-03T20:00:00Z"))).containsExactly(run);
+    }
+
+    @Test
+    void givenDatesMissedWhileDown_whenEnqueueDueRuns_thenCatchesThemUpInBoundedBatches() {
+        ReflectionTestUtils.setField(reminderRunService, "maxCatchUpDates", 2);
+        var user = userRepository.findAll().getFirst();
+        transactionRepository.save(new Transaction(null, "Atrasada", "Mensal", new BigDecimal("10.00"),
+                execucao.minusDays(10), execucao, TransactionType.EXPENSE, user));
+        reminderWatermarkRepository.save(new ReminderWatermark(bucket(), execucao.minusDays(3), LocalDateTime.now()));
+        // 20:00 UTC is 17:00 in São Paulo on the run date, after three runs were missed.
+        var now = Instant.parse("2025-05-03T20:00:00Z");
+
+        assertThat(reminderRunService.findDueRuns(now)).extracting(ReminderRunKey::runDate)
+                .containsExactly(execucao.minusDays(2), execucao.minusDays(1));
+
+        var firstTick = emailScheduler.enqueueDueRuns(now);
+        var secondTick = emailScheduler.enqueueDueRuns(now);
+
+        assertThat(firstTick.stream().mapToLong(ReminderRunStats::enqueued).sum()).isEqualTo(1);
+        assertThat(secondTick).singleElement().satisfies(stats -> {
+            assertThat(stats.run()).isEqualTo(run);
+            assertThat(stats.enqueued()).isEqualTo(DUE_TRANSACTIONS);
+        });
+        assertThat(reminderWatermarkRepository.findById(bucket())).get()
+                .satisfies(watermark -> assertThat(watermark.getLastRunDate()).isEqualTo(execucao));
+        assertThat(reminderRunService.findDueRuns(now)).isEmpty();
+        assertThat(emailOutboxRepository.count()).isEqualTo(DUE_TRANSACTIONS + 1);
+    }
+
+    @Test
+    void givenEarlierRunStillPending_whenAdvanceWatermark_thenWaitsForItBeforeMovingPastIt() {
+        var nextDay = new ReminderRunKey(execucao.plusDays(1), run.timeZone(), run.sendHour());
+        reminderWatermarkRepository.save(new ReminderWatermark(bucket(), execucao.minusDays(1), LocalDateTime.now()));
+        reminderRunService.plan(run);
+
+        emailScheduler.enqueueReminders(nextDay);
+
+        assertThat(reminderRunService.advanceWatermark(run)).as("run still pending").isFalse();
+        assertThat(reminderRunService.advanceWatermark(nextDay)).as("earlier date not done").isFalse();
+
+        emailScheduler.enqueueReminders(run);
+
+        assertThat(reminderRunService.advanceWatermark(nextDay)).isTrue();
+        assertThat(reminderWatermarkRepository.findById(bucket())).get()
+                .satisfies(watermark -> assertThat(watermark.getLastRunDate()).isEqualTo(nextDay.runDate()));
+    }
+
+    @Test
+    void givenChunkLockedByAnotherNode_whenProcessNextChunk_thenTakesADifferentChunk() throws Exception {
+        addDueUsers("Ana", "Bruno");
+        reminderRunService.plan(run);
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var otherNode = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            var chunk = reminderChunkRepository.lockNextPending(run.runDate(), run.timeZone(), run.sendHour()).orElseThrow();
+            locked.countDown();
+            await(release);
+            return chunk.getId();
+        }));
+
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(reminderRunService.processNextChunk(run)).isPresent();
+        release.countDown();
+
+        var lockedChunk = otherNode.get(5, TimeUnit.SECONDS);
+        var done = reminderChunkRepository.findByRun(run).stream()
+                .filter(chunk -> chunk.getStatus() == ReminderChunkStatus.DONE)
+                .map(ReminderChunk::getId)
+                .toList();
+        assertThat(done).hasSize(1).doesNotContain(lockedChunk);
+    }
+
+    private ReminderBucketKey bucket() {
+        return new ReminderBucketKey(run.timeZone(), run.sendHour());
+    }
+
+    private void addDueUsers(String... names) {
+        for (var name : names) {
+            var user = userRepository.save(new User(null, name, name.toLowerCase() + "@email.com", "senha123"));
+            transactionRepository.save(new Transaction(null, name, "Mensal", new BigDecimal("10.00"),
+                    vencimento.minusDays(10), vencimento, TransactionType.EXPENSE, user));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.model.ReminderRunKey;
+import com.eduardo.paytracker.service.ReminderChunkResult;
+import com.eduardo.paytracker.service.ReminderRunService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailSchedulerTest {
+
+    @Mock
+    private ReminderRunService reminderRunService;
+
+    @InjectMocks
+    private EmailScheduler emailScheduler;
+
+    private final ReminderRunKey execucao = new ReminderRunKey(LocalDate.of(2025, 5, 5), "America/Sao_Paulo", 17);
+
+    private Optional<ReminderChunkResult> chunk(int scanned, int enqueued) {
+        return Optional.of(new ReminderChunkResult(scanned, enqueued));
+    }
+
+    @Test
+    void givenPlannedRun_whenEnqueueReminders_thenProcessesChunksUntilNoneIsLeft() {
+        when(reminderRunService.plan(execucao)).thenReturn(true);
+        when(reminderRunService.processNextChunk(execucao))
+                .thenReturn(chunk(2, 2), chunk(2, 2), chunk(1, 1), Optional.empty());
+
+        var stats = emailScheduler.enqueueReminders(execucao);
+
+        assertEquals(5, stats.scanned());
+        assertEquals(5, stats.enqueued());
+        verify(reminderRunService, times(4)).processNextChunk(execucao);
+        verify(reminderRunService).advanceWatermark(execucao);
+        assertSame(stats, emailScheduler.getLastRun());
+        assertEquals(5, emailScheduler.getTotalEnqueued());
+    }
+
+    @Test
+    void givenDigestChunks_whenEnqueueReminders_thenCountsTransactionsAndEmailsSeparately() {
+        when(reminderRunService.plan(execucao)).thenReturn(true);
+        when(reminderRunService.processNextChunk(execucao)).thenReturn(chunk(15, 1), chunk(4, 2), Optional.empty());
+
+        var stats = emailScheduler.enqueueReminders(execucao);
+
+        assertEquals(19, stats.scanned());
+        assertEquals(3, stats.enqueued());
+    }
+
+    @Test
+    void givenRunPlannedByAnotherNode_whenEnqueueReminders_thenStillHelpsWithRemainingChunks() {
+        when(reminderRunService.plan(execucao)).thenThrow(new DuplicateKeyException("reminder_run_pkey"));
+        when(reminderRunService.processNextChunk(execucao)).thenReturn(chunk(3, 3), Optional.empty());
+
+        var stats = emailScheduler.enqueueReminders(execucao);
+
+        assertEquals(3, stats.enqueued());
+    }
+
+    @Test
+    void givenWatermarkMovedByAnotherNode_whenEnqueueReminders_thenStillRecordsTheRun() {
+        when(reminderRunService.processNextChunk(execucao)).thenReturn(chunk(1, 1), Optional.empty());
+        when(reminderRunService.advanceWatermark(execucao)).thenThrow(new DuplicateKeyException("reminder_watermark_pkey"));
+
+        var stats = emailScheduler.enqueueReminders(execucao);
+
+        assertEquals(1, stats.enqueued());
+        assertSame(stats, emailScheduler.getLastRun());
+    }
+
+    @Test
+    void givenAllChunksTakenByOtherNodes_whenEnqueueReminders_thenRecordsEmptyRun() {
+        when(reminderRunService.plan(execucao)).thenReturn(false);
+        when(reminderRunService.processNextChunk(execucao)).thenReturn(Optional.empty());
+
+        var stats = emailScheduler.enqueueReminders(execucao);
+
+        assertEquals(0, stats.scanned());
+        assertEquals(0, emailScheduler.getTotalEnqueued());
+    }
+
+    @Test
+    void givenSeveralDueBuckets_whenEnqueueDueRuns_thenRunsEachOfThem() {
+        var now = Instant.parse("2025-05-05T21:00:00Z");
+        var tokyo = new ReminderRunKey(LocalDate.of(2025, 5, 6), "Asia/Tokyo", 6);
+        when(reminderRunService.findDueRuns(now)).thenReturn(List.of(execucao, tokyo));
+        when(reminderRunService.processNextChunk(execucao)).thenReturn(chunk(2, 2), Optional.empty());
+        when(reminderRunService.processNextChunk(tokyo)).thenReturn(chunk(1, 1), Optional.empty());
+
+        var stats = emailScheduler.enqueueDueRuns(now);
+
+        assertEquals(List.of(execucao, tokyo), stats.stream().map(ReminderRunStats::run).toList());
+        assertEquals(3, emailScheduler.getTotalEnqueued());
+        verify(reminderRunService).plan(tokyo);
+    }
+
+    @Test
+    void givenFailingBucket_whenEnqueueDueRuns_thenStillRunsTheBucketsAfterIt() {
+        var now = Instant.parse("2025-05-05T21:00:00Z");
+        var tokyo = new ReminderRunKey(LocalDate.of(2025, 5, 6), "Asia/Tokyo", 6);
+        when(reminderRunService.findDueRuns(now)).thenReturn(List.of(execucao, tokyo));
+        when(reminderRunService.processNextChunk(execucao)).thenThrow(new IllegalStateException("linha inválida"));
+        when(reminderRunService.processNextChunk(tokyo)).thenReturn(chunk(1, 1), Optional.empty());
+
+        var stats = emailScheduler.enqueueDueRuns(now);
+
+        assertEquals(List.of(tokyo), stats.stream().map(ReminderRunStats::run).toList());
+        verify(reminderRunService, never()).advanceWatermark(execucao);
+        verify(reminderRunService).advanceWatermark(tokyo);
+    }
+}
@@ -0,0 +1,64 @@
+package com.eduardo.paytracker.scheduler;
+
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.model.EmailOutbox;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.EmailOutboxRepository;
+import com.eduardo.paytracker.repository.PostgresContainerConfig;
+import com.eduardo.paytracker.service.EmailOutboxService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every {@link EmailDeliveryWorkerTest} case on PostgreSQL, where due messages are also claimed oldest first.
+ */
+@Tag("postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresContainerConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.placeholders.concurrently=CONCURRENTLY"
+})
+class PostgresEmailDeliveryWorkerTest extends EmailDeliveryWorkerTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenDueMessages_whenClaim_thenTakesTheLongestWaitingFirst() {
+        emailOutboxService.enqueueReminders(List.of(reminder(1), reminder(2), reminder(3)), LocalDate.now());
+        var ids = emailOutboxRepository.findAll().stream().map(EmailOutbox::getId).sorted().toList();
+        var now = LocalDateTime.now();
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?",
+                    now.minusHours(i + 1), ids.get(i));
+        }
+
+        var claimed = emailOutboxService.claim(2).stream().map(EmailOutbox::getId).toList();
+
+        assertThat(claimed).containsExactly(ids.get(2), ids.get(1));
+    }
+
+    private TransactionReminderDTO reminder(long id) {
+        return new TransactionReminderDTO(id, "Conta " + id, "Mensal", new BigDecimal("10.00"),
+                LocalDate.now().plusDays(2), TransactionType.EXPENSE, id, "Eduardo", "user" + id + "@email.com");
+    }
+}
@@ -1,7 +1,10 @@
 package com.eduardo.paytracker.service;
 
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.config.security.TokenVersionCache;
 import com.eduardo.paytracker.dto.RegisterRequestDTO;
 import com.eduardo.paytracker.exception.ExistentUserException;
+import com.eduardo.paytracker.exception.InvalidTimeZoneException;
 import com.eduardo.paytracker.model.User;
 import com.eduardo.paytracker.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -27,6 +30,12 @@ class AuthenticationServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -56,6 +65,41 @@ class AuthenticationServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void registerUser_WhenTimeZoneAndSendHourGiven_ShouldSaveThem() {
+        RegisterRequestDTO dto = new RegisterRequestDTO("Eduardo", "eduardo@email.com", "senha123", "Europe/Lisbon", 8);
+
+        when(userRepository.findByEmail(dto.email())).thenReturn(null);
+        when(passwordEncoder.encode(dto.password())).thenReturn("encodedSenha123");
+
+        authenticationService.registerUser(dto);
+
+        verify(userRepository).save(argThat(user ->
+                user.getTimeZone().equals("Europe/Lisbon") && user.getSendHour() == 8));
+    }
+
+    @Test
+    void registerUser_WhenNoTimeZoneGiven_ShouldUseDefaultBucket() {
+        RegisterRequestDTO dto = new RegisterRequestDTO("Eduardo", "eduardo@email.com", "senha123");
+
+        when(userRepository.findByEmail(dto.email())).thenReturn(null);
+
+        authenticationService.registerUser(dto);
+
+        verify(userRepository).save(argThat(user ->
+                user.getTimeZone().equals(User.DEFAULT_TIME_ZONE) && user.getSendHour() == User.DEFAULT_SEND_HOUR));
+    }
+
+    @Test
+    void registerUser_WhenTimeZoneIsUnknown_ShouldThrowException() {
+        RegisterRequestDTO dto = new RegisterRequestDTO("Eduardo", "eduardo@email.com", "senha123", "Mars/Olympus", 8);
+
+        when(userRepository.findByEmail(dto.email())).thenReturn(null);
+
+        assertThrows(InvalidTimeZoneException.class, () -> authenticationService.registerUser(dto));
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void loadUserByUsername_WhenExists_ShouldReturnUser() {
         User user = new User(1L, "Eduardo", "eduardo@email.com", "senha123");
@@ -75,4 +119,14 @@ class AuthenticationServiceTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void logout_ShouldBumpTokenVersionAndDropCachedVersion() {
+        when(authenticatedUserProvider.getUserId()).thenReturn(1L);
+
+        authenticationService.logout();
+
+        var order = inOrder(userRepository, tokenVersionCache);
+        order.verify(userRepository).incrementTokenVersion(1L);
+        order.verify(tokenVersionCache).forget(1L);
+    }
+}
@@ -0,0 +1,148 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.dto.EmailMessageDTO;
+import com.eduardo.paytracker.dto.TransactionReminderDTO;
+import com.eduardo.paytracker.exception.EmailDeliveryException;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailService emailService;
+    private TransactionReminderDTO reminder;
+
+    @BeforeEach
+    void setup() {
+        emailService = new EmailService(mailSender, 2);
+        reminder = new TransactionReminderDTO(1L, "Aluguel", "Apartamento <b>centro</b> & \"garagem\"",
+                new BigDecimal("1200.50"), LocalDate.of(2025, 5, 5), TransactionType.EXPENSE,
+                1L, "Eduardo", "edu@email.com");
+    }
+
+    @Test
+    void givenReminder_whenRender_thenFillsEveryPlaceholderAndEscapesHtml() {
+        var html = emailService.renderReminder(reminder, 2);
+
+        assertTrue(html.contains("Olá, Eduardo!"));
+        assertTrue(html.contains("<strong>vence em 2 dias</strong>"));
+        assertTrue(html.contains("<td>Aluguel</td>"));
+        assertTrue(html.contains("Apartamento &lt;b&gt;centro&lt;/b&gt; &amp; &quot;garagem&quot;"));
+        assertTrue(html.contains("<td>2025-05-05</td>"));
+        assertTrue(html.contains("<td>EXPENSE</td>"));
+        assertFalse(html.contains("{{"));
+    }
+
+    @Test
+    void givenSeveralReminders_whenRenderDigest_thenListsEveryItemOnceWithTotal() {
+        var second = new TransactionReminderDTO(2L, "Internet", "Fibra", new BigDecimal("99.50"),
+                LocalDate.of(2025, 5, 12), TransactionType.EXPENSE, 1L, "Eduardo", "edu@email.com");
+
+        var html = emailService.renderDigest(List.of(reminder, second), new int[]{0, 7});
+
+        assertTrue(html.contains("Olá, Eduardo!"));
+        assertTrue(html.contains("<strong>2</strong> conta(s)"));
+        assertTrue(html.contains("<td>Aluguel</td>"));
+        assertTrue(html.contains("<td>Internet</td>"));
+        assertTrue(html.contains("<td>2025-05-05 (vence hoje)</td>"));
+        assertTrue(html.contains("<td>2025-05-12 (vence em 7 dias)</td>"));
+        assertTrue(html.contains("Apartamento &lt;b&gt;centro&lt;/b&gt; &amp; &quot;garagem&quot;"));
+        assertTrue(html.contains("<strong>" + String.format("R$ %.2f", new BigDecimal("1300.00")) + "</strong>"));
+        assertFalse(html.contains("{{"));
+    }
+
+    @Test
+    void givenMoreMessagesThanConnectionLimit_whenSendAll_thenReusesOneSessionPerGroup() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+
+        var failures = emailService.sendAll(messages(5));
+
+        assertTrue(failures.isEmpty());
+        var sessions = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(3)).send(sessions.capture());
+        assertEquals(List.of(2, 2, 1), sessions.getAllValues().stream().map(group -> group.length).toList());
+    }
+
+    @Test
+    void givenServerRejectsOneMessage_whenSendAll_thenReportsOnlyThatPosition() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        doAnswer(invocation -> {
+            MimeMessage rejected = invocation.getArgument(1);
+            throw new MailSendException("550 mailbox unavailable", null, Map.of(rejected, new MessagingException("550")));
+        }).when(mailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        var failures = emailService.sendAll(messages(3));
+
+        assertEquals(Set.of(1), failures.keySet());
+    }
+
+    @Test
+    void givenConnectionFailure_whenSendAll_thenFailsEveryMessageOfThatSession() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        // JavaMailSenderImpl lists every message of a session it could not open.
+        doAnswer(invocation -> {
+            var refused = new MessagingException("Connection refused");
+            throw new MailSendException("Mail server connection failed", refused,
+                    Map.of(invocation.getArgument(0), refused, invocation.getArgument(1), refused));
+        }).when(mailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        var failures = emailService.sendAll(messages(3));
+
+        assertEquals(Set.of(0, 1), failures.keySet());
+    }
+
+    @Test
+    void givenCloseFailureAfterSending_whenSendAll_thenReportsNoFailure() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new MailSendException("Failed to close server connection after message sending",
+                new MessagingException("421 closing")))
+                .when(mailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        var failures = emailService.sendAll(messages(2));
+
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void givenInvalidRecipient_whenSendAll_thenReportsDeliveryExceptionAndSendsTheRest() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+
+        var failures = emailService.sendAll(List.of(
+                new EmailMessageDTO("edu@@email..com(", "Assunto", "<p>Oi</p>"),
+                new EmailMessageDTO("edu@email.com", "Assunto", "<p>Oi</p>")));
+
+        assertInstanceOf(EmailDeliveryException.class, failures.get(0));
+        assertEquals(1, failures.size());
+        verify(mailSender).send(any(MimeMessage[].class));
+    }
+
+    private List<EmailMessageDTO> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EmailMessageDTO("user" + i + "@email.com", EmailService.REMINDER_SUBJECT, "<p>" + i + "</p>"))
+                .toList();
+    }
+}
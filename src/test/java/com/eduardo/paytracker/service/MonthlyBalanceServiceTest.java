@@ -0,0 +1,131 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.exception.InvalidPeriodException;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.MonthlyBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyBalanceServiceTest {
+
+    @Mock
+    private MonthlyBalanceRepository monthlyBalanceRepository;
+
+    @Mock
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    @InjectMocks
+    private MonthlyBalanceService monthlyBalanceService;
+
+    private final User user = new User(1L, "Eduardo", "edu@email.com", "senha123");
+    private final LocalDate abril = LocalDate.of(2025, 4, 1);
+    private final LocalDate maio = LocalDate.of(2025, 5, 1);
+
+    private Transaction transaction(String amount, LocalDate dueDate, TransactionType type) {
+        return new Transaction(1L, "Aluguel", "Mensal", new BigDecimal(amount), abril, dueDate, type, user);
+    }
+
+    @Test
+    void givenBatchAcrossMonths_whenAdd_thenWritesOncePerMonth() {
+        monthlyBalanceService.add(1L, List.of(
+                transaction("100", LocalDate.of(2025, 4, 10), TransactionType.EXPENSE),
+                transaction("50", LocalDate.of(2025, 4, 20), TransactionType.EXPENSE),
+                transaction("3000", LocalDate.of(2025, 4, 5), TransactionType.INCOME),
+                transaction("80", LocalDate.of(2025, 5, 2), TransactionType.EXPENSE)));
+
+        verify(monthlyBalanceRepository).addToMonth(1L, abril, new BigDecimal("3000"), new BigDecimal("150"));
+        verify(monthlyBalanceRepository).addToMonth(1L, maio, BigDecimal.ZERO, new BigDecimal("80"));
+        verifyNoMoreInteractions(monthlyBalanceRepository);
+    }
+
+    @Test
+    void givenTransaction_whenRemove_thenSubtractsItsAmount() {
+        monthlyBalanceService.remove(1L,
+                List.of(new BalanceEntry(LocalDate.of(2025, 4, 10), TransactionType.INCOME, new BigDecimal("100"))));
+
+        verify(monthlyBalanceRepository).addToMonth(1L, abril, new BigDecimal("-100"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void givenDueDateMovedToAnotherMonth_whenReplace_thenMovesTheAmount() {
+        var previous = new BalanceEntry(LocalDate.of(2025, 4, 28), TransactionType.EXPENSE, new BigDecimal("100"));
+
+        monthlyBalanceService.replace(1L, List.of(previous),
+                List.of(new BalanceEntry(LocalDate.of(2025, 5, 3), TransactionType.EXPENSE, new BigDecimal("120"))));
+
+        verify(monthlyBalanceRepository).addToMonth(1L, abril, BigDecimal.ZERO, new BigDecimal("-100"));
+        verify(monthlyBalanceRepository).addToMonth(1L, maio, BigDecimal.ZERO, new BigDecimal("120"));
+    }
+
+    @Test
+    void givenTypeChangedWithinTheMonth_whenReplace_thenWritesOneNettedDelta() {
+        var previous = new BalanceEntry(LocalDate.of(2025, 4, 10), TransactionType.EXPENSE, new BigDecimal("100"));
+
+        monthlyBalanceService.replace(1L, List.of(previous),
+                List.of(new BalanceEntry(LocalDate.of(2025, 4, 12), TransactionType.INCOME, new BigDecimal("100"))));
+
+        verify(monthlyBalanceRepository).addToMonth(1L, abril, new BigDecimal("100"), new BigDecimal("-100"));
+        verifyNoMoreInteractions(monthlyBalanceRepository);
+    }
+
+    @Test
+    void givenOnlyTitleChanged_whenReplace_thenDoesNotTouchTheRollup() {
+        var entry = new BalanceEntry(LocalDate.of(2025, 4, 10), TransactionType.EXPENSE, new BigDecimal("100"));
+
+        monthlyBalanceService.replace(1L, List.of(entry), List.of(entry));
+
+        verifyNoInteractions(monthlyBalanceRepository);
+    }
+
+    @Test
+    void givenBulkChangeAcrossMonths_whenReplace_thenWritesOneDeltaPerMonth() {
+        var previous = List.of(
+                new BalanceEntry(LocalDate.of(2025, 4, 10), TransactionType.EXPENSE, new BigDecimal("100")),
+                new BalanceEntry(LocalDate.of(2025, 4, 20), TransactionType.EXPENSE, new BigDecimal("50")),
+                new BalanceEntry(LocalDate.of(2025, 5, 2), TransactionType.EXPENSE, new BigDecimal("80")));
+        var current = List.of(
+                new BalanceEntry(LocalDate.of(2025, 4, 10), TransactionType.INCOME, new BigDecimal("100")),
+                new BalanceEntry(LocalDate.of(2025, 4, 20), TransactionType.INCOME, new BigDecimal("50")),
+                new BalanceEntry(LocalDate.of(2025, 5, 2), TransactionType.INCOME, new BigDecimal("80")));
+
+        monthlyBalanceService.replace(1L, previous, current);
+
+        verify(monthlyBalanceRepository).addToMonth(1L, abril, new BigDecimal("150"), new BigDecimal("-150"));
+        verify(monthlyBalanceRepository).addToMonth(1L, maio, new BigDecimal("80"), new BigDecimal("-80"));
+        verifyNoMoreInteractions(monthlyBalanceRepository);
+    }
+
+    @Test
+    void givenNoPeriod_whenGetMonthlyBalances_thenReadsTheLastTwelveMonths() {
+        when(authenticatedUserProvider.getUserId()).thenReturn(1L);
+        var thisMonth = YearMonth.now();
+
+        monthlyBalanceService.getMonthlyBalances(null, null);
+
+        verify(monthlyBalanceRepository).findMonthlyBalances(1L, thisMonth.minusMonths(11).atDay(1), thisMonth.atDay(1));
+    }
+
+    @Test
+    void givenStartAfterEnd_whenGetMonthlyBalances_thenThrowsException() {
+        when(authenticatedUserProvider.getUserId()).thenReturn(1L);
+
+        assertThrows(InvalidPeriodException.class,
+                () -> monthlyBalanceService.getMonthlyBalances(YearMonth.of(2025, 6), YearMonth.of(2025, 5)));
+        verifyNoInteractions(monthlyBalanceRepository);
+    }
+}
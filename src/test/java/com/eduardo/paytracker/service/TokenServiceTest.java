@@ -0,0 +1,94 @@
+package com.eduardo.paytracker.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.eduardo.paytracker.exception.TokenException;
+import com.eduardo.paytracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        tokenService = new TokenService("test-secret", 2);
+        user = new User(1L, "Eduardo", "edu@email.com", "senha123");
+    }
+
+    @Test
+    void givenGeneratedToken_whenValidate_thenReturnsUserClaims() {
+        var claims = tokenService.validateToken(tokenService.generateToken(user));
+
+        assertEquals("edu@email.com", claims.subject());
+        assertEquals(1L, claims.userId());
+        assertEquals(0, claims.tokenVersion());
+    }
+
+    @Test
+    void givenSameToken_whenValidatedTwice_thenSecondCallHitsCache() {
+        var token = tokenService.generateToken(user);
+
+        tokenService.validateToken(token);
+        tokenService.validateToken(token);
+
+        assertEquals(1, tokenService.getCacheMisses());
+        assertEquals(1, tokenService.getCacheHits());
+        assertEquals(1, tokenService.getCacheSize());
+    }
+
+    @Test
+    void givenFullCache_whenNewTokenVerified_thenCacheStaysBounded() {
+        for (long id = 1; id <= 5; id++) {
+            tokenService.validateToken(tokenService.generateToken(new User(id, "U" + id, id + "@email.com", "senha")));
+        }
+
+        assertEquals(2, tokenService.getCacheSize());
+        assertEquals(5, tokenService.getCacheMisses());
+    }
+
+    @Test
+    void givenFullCache_whenNewTokenVerified_thenEvictsAnEntryToCacheIt() {
+        for (long id = 1; id <= 2; id++) {
+            tokenService.validateToken(tokenService.generateToken(new User(id, "U" + id, id + "@email.com", "senha")));
+        }
+        var token = tokenService.generateToken(new User(3L, "U3", "3@email.com", "senha"));
+
+        tokenService.validateToken(token);
+        tokenService.validateToken(token);
+
+        assertEquals(2, tokenService.getCacheSize());
+        assertEquals(1, tokenService.getCacheHits());
+    }
+
+    @Test
+    void givenTokenSignedWithAnotherSecret_whenValidate_thenThrowsAndIsNotCached() {
+        var token = JWT.create()
+                .withIssuer("PayTracker API")
+                .withSubject("edu@email.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("other-secret"));
+
+        assertThrows(TokenException.class, () -> tokenService.validateToken(token));
+        assertThrows(TokenException.class, () -> tokenService.validateToken(token));
+        assertEquals(0, tokenService.getCacheSize());
+        assertEquals(0, tokenService.getCacheHits());
+    }
+
+    @Test
+    void givenExpiredToken_whenValidate_thenThrows() {
+        var token = JWT.create()
+                .withIssuer("PayTracker API")
+                .withSubject("edu@email.com")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("test-secret"));
+
+        assertThrows(TokenException.class, () -> tokenService.validateToken(token));
+    }
+}
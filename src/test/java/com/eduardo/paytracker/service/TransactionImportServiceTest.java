@@ -0,0 +1,182 @@
+package com.eduardo.paytracker.service;
+
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.exception.InvalidImportFileException;
+import com.eduardo.paytracker.model.Transaction;
+import com.eduardo.paytracker.model.User;
+import com.eduardo.paytracker.model.enums.ImportFormat;
+import com.eduardo.paytracker.model.enums.TransactionType;
+import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    @Mock
+    private MonthlyBalanceService monthlyBalanceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionImportService transactionImportService;
+
+    private final List<Transaction> saved = new ArrayList<>();
+    private final LocalDate vencimento = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setup() {
+        transactionImportService = new TransactionImportService(transactionRepository, userRepository,
+                monthlyBalanceService, authenticatedUserProvider, new TransactionTemplate(transactionManager),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private void mockSaveAll() {
+        when(userRepository.getReferenceById(1L)).thenReturn(new User(1L, "Eduardo", "edu@email.com", "senha123"));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            saved.addAll(batch);
+            return batch;
+        });
+    }
+
+    private ByteArrayInputStream file(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenCsvWithInvalidRows_whenImport_thenImportsValidRowsAndReportsErrors() throws Exception {
+        mockSaveAll();
+        var csv = """
+                title,description,amount,dueDate,type
+                Aluguel,"Maio, apartamento",1200.50,%s,EXPENSE
+                Salário,Empresa,-10,%s,INCOME
+                Internet,"Plano \"\"fibra\"\"",150,data,SAVINGS
+
+                Luz,Conta,90,%s,expense
+                """.formatted(vencimento, vencimento, vencimento);
+
+        var result = transactionImportService.importTransactions(1L, ImportFormat.CSV, file(csv));
+
+        assertEquals(4, result.totalRows());
+        assertEquals(2, result.importedRows());
+        assertEquals(2, result.rejectedRows());
+        assertEquals(2, result.errors().get(0).row());
+        assertTrue(result.errors().get(0).details().containsKey("amount"));
+        assertEquals(3, result.errors().get(1).row());
+        assertEquals(List.of("dueDate", "type"), List.copyOf(result.errors().get(1).details().keySet()).stream().sorted().toList());
+
+        assertEquals("Maio, apartamento", saved.get(0).getDescription());
+        assertEquals(new BigDecimal("1200.50"), saved.get(0).getAmount());
+        assertEquals(TransactionType.EXPENSE, saved.get(1).getType());
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(monthlyBalanceService).add(1L, saved);
+    }
+
+    @Test
+    void givenLargeCsv_whenImport_thenFlushesInFixedSizeBatches() throws Exception {
+        mockSaveAll();
+        var csv = new StringBuilder("type,amount,dueDate,title,description\n");
+        var rows = TransactionImportService.BATCH_SIZE * 2 + 1;
+        for (int i = 0; i < rows; i++) {
+            csv.append("INCOME,").append(i + 1).append(',').append(vencimento).append(",Venda ").append(i).append(",Loja\n");
+        }
+
+        var result = transactionImportService.importTransactions(1L, ImportFormat.CSV, file(csv.toString()));
+
+        assertEquals(rows, result.importedRows());
+        var batches = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(3)).saveAll(batches.capture());
+        assertEquals(List.of(TransactionImportService.BATCH_SIZE, TransactionImportService.BATCH_SIZE, 1),
+                batches.getAllValues().stream().map(List::size).toList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void givenOfxStatement_whenImport_thenMapsSignToTransactionType() throws Exception {
+        mockSaveAll();
+        var date = vencimento.toString().replace("-", "");
+        var ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>%s120000[-3:BRT]
+                <TRNAMT>-89.90
+                <NAME>Mercado
+                <MEMO>Compra &amp; cia
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>%s</DTPOSTED><TRNAMT>3000.00</TRNAMT><NAME>Salário</NAME></STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """.formatted(date, date);
+
+        var result = transactionImportService.importTransactions(1L, ImportFormat.OFX, file(ofx));
+
+        assertEquals(2, result.importedRows());
+        assertEquals(0, result.rejectedRows());
+        assertEquals(TransactionType.EXPENSE, saved.get(0).getType());
+        assertEquals(new BigDecimal("89.90"), saved.get(0).getAmount());
+        assertEquals("Compra & cia", saved.get(0).getDescription());
+        assertEquals(vencimento, saved.get(0).getDueDate());
+        assertEquals(TransactionType.INCOME, saved.get(1).getType());
+        assertEquals("Salário", saved.get(1).getDescription());
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumns_whenImport_thenThrowsBeforeSaving() {
+        assertThrows(InvalidImportFileException.class, () ->
+                transactionImportService.importTransactions(1L, ImportFormat.CSV, file("title,amount\nAluguel,10\n")));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void givenUnterminatedQuote_whenImport_thenKeepsImportedRowsAndReportsFileError() throws Exception {
+        mockSaveAll();
+        var csv = "title,description,amount,dueDate,type\n"
+                + "Aluguel,Maio,100," + vencimento + ",EXPENSE\n"
+                + "Quebrada,\"" + "x".repeat(70 * 1024);
+
+        var result = transactionImportService.importTransactions(1L, ImportFormat.CSV, file(csv));
+
+        assertEquals(1, result.importedRows());
+        assertEquals(1, result.rejectedRows());
+        assertTrue(result.errors().getFirst().details().containsKey("file"));
+    }
+
+    @Test
+    void givenUnknownExtension_whenResolvingFormat_thenThrows() {
+        assertEquals(ImportFormat.OFX, ImportFormat.fromFilename("extrato.OFX"));
+        assertThrows(InvalidImportFileException.class, () -> ImportFormat.fromFilename("extrato.xlsx"));
+    }
+}
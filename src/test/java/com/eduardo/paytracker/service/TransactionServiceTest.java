@@ -1,14 +1,27 @@
 package com.eduardo.paytracker.service;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.eduardo.paytracker.config.security.AuthenticatedUserProvider;
+import com.eduardo.paytracker.dto.TransactionBatchRequestDTO;
+import com.eduardo.paytracker.dto.TransactionBulkSelectionDTO;
+import com.eduardo.paytracker.dto.TransactionBulkUpdateRequestDTO;
+import com.eduardo.paytracker.dto.TransactionCursor;
+import com.eduardo.paytracker.dto.TransactionFilterDTO;
 import com.eduardo.paytracker.dto.TransactionPatchRequestDTO;
 import com.eduardo.paytracker.dto.TransactionRequestDTO;
+import com.eduardo.paytracker.dto.TransactionResponseDTO;
+import com.eduardo.paytracker.exception.InvalidBulkRequestException;
+import com.eduardo.paytracker.exception.InvalidCursorException;
+import com.eduardo.paytracker.exception.InvalidIdListException;
+import com.eduardo.paytracker.exception.TokenException;
 import com.eduardo.paytracker.exception.TransactionNotFoundException;
+import com.eduardo.paytracker.exception.TransactionVersionMismatchException;
 import com.eduardo.paytracker.model.Transaction;
 import com.eduardo.paytracker.model.User;
 import com.eduardo.paytracker.model.enums.TransactionType;
 import com.eduardo.paytracker.repository.TransactionRepository;
+import com.eduardo.paytracker.repository.TransactionWriteRepository.TransactionUpdate;
+import com.eduardo.paytracker.repository.TransactionWriteRepository.BulkWrite;
+import com.eduardo.paytracker.repository.TransactionWriteRepository.MonthTotal;
 import com.eduardo.paytracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,15 +33,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +56,12 @@ class TransactionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuthenticatedUserProvider authenticatedUserProvider;
+
+    @Mock
+    private MonthlyBalanceService monthlyBalanceService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -58,21 +79,21 @@ class TransactionServiceTest {
         pageable = PageRequest.of(0, 10);
     }
 
-    private void mockSecurityContext(User user) {
-        var authentication = mock(Authentication.class);
-        when(authentication.getCredentials()).thenReturn(generateTokenFor(user));
-        var context = mock(SecurityContext.class);
-        when(context.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(context);
+    private void mockAuthenticatedUser(User user) {
+        when(authenticatedUserProvider.getUserId()).thenReturn(user.getId());
     }
 
-    private String generateTokenFor(User user) {
-        return JWT.create().withClaim("sub", user.getEmail()).sign(Algorithm.HMAC256("test"));
+    @Test
+    void givenDeletedUser_whenGetTransactionsVersion_thenThrowsTokenException() {
+        mockAuthenticatedUser(fakeUser);
+        when(userRepository.findTransactionsVersion(1L)).thenReturn(Optional.empty());
+
+        assertThrows(TokenException.class, () -> transactionService.getTransactionsVersion());
     }
 
     @Test
     void givenValidDTO_whenCreateTransaction_thenSavesSuccessfully() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
         TransactionRequestDTO dto = new TransactionRequestDTO(
                 "Salário",
@@ -82,7 +103,6 @@ class TransactionServiceTest {
                 TransactionType.INCOME
         );
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
         when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
 
         Transaction transactionWithId = new Transaction(
@@ -103,15 +123,36 @@ class TransactionServiceTest {
         assertEquals("Salário", result.title());
         assertEquals(TransactionType.INCOME, result.type());
         verify(transactionRepository).save(any(Transaction.class));
+        verify(monthlyBalanceService).add(fakeUser.getId(), List.of(transactionWithId));
     }
 
     @Test
-    void givenUserWithTransactions_whenGetAll_thenReturnsPage() {
-        mockSecurityContext(fakeUser);
+    void givenBatch_whenCreateTransactions_thenSavesAllInOneCall() {
+        mockAuthenticatedUser(fakeUser);
+
+        var batch = new TransactionBatchRequestDTO(List.of(
+                new TransactionRequestDTO("Luz", "Maio", new BigDecimal(120), LocalDate.of(2025, 5, 10), TransactionType.EXPENSE),
+                new TransactionRequestDTO("Água", "Maio", new BigDecimal(80), LocalDate.of(2025, 5, 12), TransactionType.EXPENSE)
+        ));
 
-        Page<Transaction> page = new PageImpl<>(List.of(fakeTransaction));
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
         when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var result = transactionService.createTransactions(batch);
+
+        assertEquals(2, result.size());
+        assertEquals("Luz", result.get(0).title());
+        assertEquals("Água", result.get(1).title());
+        verify(transactionRepository).saveAll(anyList());
+        verify(transactionRepository, never()).save(any());
+        verify(monthlyBalanceService).add(eq(fakeUser.getId()), argThat(transactions -> transactions.size() == 2));
+    }
+
+    @Test
+    void givenUserWithTransactions_whenGetAll_thenReturnsPage() {
+        mockAuthenticatedUser(fakeUser);
+
+        Page<TransactionResponseDTO> page = new PageImpl<>(List.of(new TransactionResponseDTO(fakeTransaction)));
         when(transactionRepository.findAllTransactions(fakeUser.getId(), pageable)).thenReturn(page);
 
         var result = transactionService.getAllTransactions(pageable);
@@ -122,23 +163,70 @@ class TransactionServiceTest {
 
     @Test
     void givenUserWithoutTransactions_whenGetAll_thenThrowsException() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
-        Page<Transaction> emptyPage = new PageImpl<>(List.of());
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
+        Page<TransactionResponseDTO> emptyPage = new PageImpl<>(List.of());
         when(transactionRepository.findAllTransactions(fakeUser.getId(), pageable)).thenReturn(emptyPage);
 
         assertThrows(TransactionNotFoundException.class, () -> transactionService.getAllTransactions(pageable));
     }
 
+    @Test
+    void givenFilters_whenSearch_thenReturnsMappedPageEvenWhenEmpty() {
+        mockAuthenticatedUser(fakeUser);
+        var filter = new TransactionFilterDTO(null, null, TransactionType.INCOME, null, null, null, null);
+
+        when(transactionRepository.searchTransactions(any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(new TransactionResponseDTO(fakeTransaction))), new PageImpl<>(List.of()));
+
+        var result = transactionService.searchTransactions(filter, pageable);
+
+        assertEquals("Aluguel", result.getContent().get(0).title());
+        assertEquals(1L, result.getContent().get(0).userId());
+        assertEquals(0, transactionService.searchTransactions(filter, pageable).getTotalElements());
+    }
+
+    @Test
+    void givenNoCursor_whenGetByCursor_thenReturnsFirstSliceWithNextCursor() {
+        mockAuthenticatedUser(fakeUser);
+
+        when(transactionRepository.findFirstTransactionsSlice(fakeUser.getId(), PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(new TransactionResponseDTO(fakeTransaction)), PageRequest.of(0, 1), true));
+
+        var result = transactionService.getTransactionsByCursor(null, 1);
+
+        assertEquals(1, result.content().size());
+        assertEquals(new TransactionCursor(fakeTransaction.getDueDate(), 1L), TransactionCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void givenCursor_whenGetByCursor_thenSeeksAfterCursorPosition() {
+        mockAuthenticatedUser(fakeUser);
+
+        var cursor = new TransactionCursor(LocalDate.of(2025, 4, 20), 7L).encode();
+        when(transactionRepository.findTransactionsSliceAfter(fakeUser.getId(), LocalDate.of(2025, 4, 20), 7L, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(new TransactionResponseDTO(fakeTransaction)), PageRequest.of(0, 20), false));
+
+        var result = transactionService.getTransactionsByCursor(cursor, 20);
+
+        assertEquals("Aluguel", result.content().get(0).title());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetByCursor_thenThrowsException() {
+        mockAuthenticatedUser(fakeUser);
+
+        assertThrows(InvalidCursorException.class, () -> transactionService.getTransactionsByCursor("not-a-cursor", 20));
+    }
+
     @Test
     void givenValidId_whenGetById_thenReturnsDTO() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(fakeTransaction);
+        when(transactionRepository.findTransactionResponseById(fakeUser.getId(), 1L))
+                .thenReturn(new TransactionResponseDTO(fakeTransaction));
 
         var result = transactionService.getTransactionById(1L);
 
@@ -148,95 +236,197 @@ class TransactionServiceTest {
 
     @Test
     void givenInvalidId_whenGetById_thenThrowsException() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(null);
+        when(transactionRepository.findTransactionResponseById(fakeUser.getId(), 1L)).thenReturn(null);
 
         assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionById(1L));
     }
 
+    @Test
+    void givenIds_whenGetByIds_thenReturnsThemInRequestOrderAndReportsMissing() {
+        mockAuthenticatedUser(fakeUser);
+
+        var first = new TransactionResponseDTO(fakeTransaction);
+        var third = new TransactionResponseDTO(3L, "Luz", "Maio", new BigDecimal(120), LocalDate.of(2025, 4, 21),
+                LocalDate.of(2025, 5, 10), TransactionType.EXPENSE, fakeUser.getId(), 0L);
+        when(transactionRepository.findTransactionResponsesByIds(eq(fakeUser.getId()), argThat(ids -> ids.size() == 3)))
+                .thenReturn(List.of(first, third));
+
+        var result = transactionService.getTransactionsByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(third, first), result.content());
+        assertEquals(List.of(2L), result.missingIds());
+    }
+
+    @Test
+    void givenTooManyIds_whenGetByIds_thenThrowsWithoutQuerying() {
+        var ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(InvalidIdListException.class, () -> transactionService.getTransactionsByIds(ids));
+        assertThrows(InvalidIdListException.class, () -> transactionService.getTransactionsByIds(List.of()));
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     void givenValidId_whenSpecificUpdate_thenUpdatesFields() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
         TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(fakeTransaction);
+        var previous = new TransactionResponseDTO(fakeTransaction);
+        var current = new TransactionResponseDTO(1L, "Luz", "Maio", new BigDecimal(1200), LocalDate.of(2025, 4, 21),
+                LocalDate.of(2025, 4, 26), TransactionType.EXPENSE, fakeUser.getId(), 1L);
+        when(transactionRepository.updateTransaction(fakeUser.getId(), 1L, patch, null))
+                .thenReturn(Optional.of(new TransactionUpdate(previous, current)));
+
+        var result = transactionService.transactionSpecificUpdate(patch, 1L, null);
+
+        assertEquals(current, result);
+        verify(transactionRepository, never()).findTransactionById(any(), any());
+        verify(monthlyBalanceService).replace(fakeUser.getId(),
+                List.of(new BalanceEntry(LocalDate.of(2025, 4, 26), TransactionType.EXPENSE, new BigDecimal(1200))),
+                List.of(BalanceEntry.of(current)));
+        verify(userRepository).incrementTransactionsVersion(fakeUser.getId());
+    }
+
+    @Test
+    void givenStaleVersion_whenSpecificUpdate_thenThrowsVersionMismatch() {
+        mockAuthenticatedUser(fakeUser);
+
+        TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+        when(transactionRepository.updateTransaction(fakeUser.getId(), 1L, patch, 3L)).thenReturn(Optional.empty());
+        when(transactionRepository.existsByIdAndUserId(1L, fakeUser.getId())).thenReturn(true);
+
+        assertThrows(TransactionVersionMismatchException.class,
+                () -> transactionService.transactionSpecificUpdate(patch, 1L, 3L));
+        verifyNoInteractions(monthlyBalanceService);
+        verify(userRepository, never()).incrementTransactionsVersion(any());
+    }
+
+    @Test
+    void givenExpectedVersionOfMissingTransaction_whenSpecificUpdate_thenThrowsNotFound() {
+        mockAuthenticatedUser(fakeUser);
 
-        var result = transactionService.transactionSpecificUpdate(patch, 1L);
+        TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
+        when(transactionRepository.updateTransaction(fakeUser.getId(), 1L, patch, 3L)).thenReturn(Optional.empty());
+        when(transactionRepository.existsByIdAndUserId(1L, fakeUser.getId())).thenReturn(false);
 
-        assertEquals("Luz", result.title());
-        verify(transactionRepository).save(fakeTransaction);
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.transactionSpecificUpdate(patch, 1L, 3L));
     }
 
     @Test
     void givenInvalidId_whenSpecificUpdate_thenThrowsException() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
         TransactionPatchRequestDTO patch = new TransactionPatchRequestDTO("Luz", null, null, null, null);
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(null);
+        when(transactionRepository.updateTransaction(fakeUser.getId(), 1L, patch, null)).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.transactionSpecificUpdate(patch, 1L));
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.transactionSpecificUpdate(patch, 1L, null));
+        verifyNoInteractions(monthlyBalanceService);
     }
 
     @Test
-    void givenValidId_whenCompleteUpdate_thenOverwritesAllFields() {
-        mockSecurityContext(fakeUser);
+    void givenValidId_whenCompleteUpdate_thenWritesEveryField() {
+        mockAuthenticatedUser(fakeUser);
 
         TransactionRequestDTO update = new TransactionRequestDTO("Internet", "Atualizado", new BigDecimal(200),
-                LocalDate.of(2025, 4, 26), TransactionType.EXPENSE);
+                LocalDate.of(2025, 5, 5), TransactionType.INCOME);
+        var current = new TransactionResponseDTO(1L, "Internet", "Atualizado", new BigDecimal(200),
+                LocalDate.of(2025, 4, 21), LocalDate.of(2025, 5, 5), TransactionType.INCOME, fakeUser.getId(), 1L);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(fakeTransaction);
+        when(transactionRepository.updateTransaction(fakeUser.getId(), 1L, new TransactionPatchRequestDTO("Internet",
+                "Atualizado", new BigDecimal(200), LocalDate.of(2025, 5, 5), TransactionType.INCOME), null))
+                .thenReturn(Optional.of(new TransactionUpdate(new TransactionResponseDTO(fakeTransaction), current)));
 
-        var result = transactionService.transactionCompleteUpdate(update, 1L);
+        var result = transactionService.transactionCompleteUpdate(update, 1L, null);
 
         assertEquals("Internet", result.title());
         assertEquals(BigDecimal.valueOf(200), result.amount());
-        verify(transactionRepository).save(fakeTransaction);
+        verify(monthlyBalanceService).replace(fakeUser.getId(),
+                List.of(new BalanceEntry(LocalDate.of(2025, 4, 26), TransactionType.EXPENSE, new BigDecimal(1200))),
+                List.of(new BalanceEntry(LocalDate.of(2025, 5, 5), TransactionType.INCOME, new BigDecimal(200))));
     }
 
     @Test
     void givenInvalidId_whenCompleteUpdate_thenThrowsException() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
         TransactionRequestDTO update = new TransactionRequestDTO("Internet", "Atualizado", new BigDecimal(200),
                 LocalDate.of(2025, 4, 26), TransactionType.EXPENSE);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(null);
+        when(transactionRepository.updateTransaction(eq(fakeUser.getId()), eq(1L), any(), isNull())).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.transactionCompleteUpdate(update, 1L));
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.transactionCompleteUpdate(update, 1L, null));
     }
 
     @Test
     void givenValidId_whenDelete_thenRemovesTransaction() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(fakeTransaction);
+        when(transactionRepository.deleteTransaction(fakeUser.getId(), 1L))
+                .thenReturn(Optional.of(new TransactionResponseDTO(fakeTransaction)));
 
         transactionService.deleteTransaction(1L);
 
-        verify(transactionRepository).delete(fakeTransaction);
+        verify(monthlyBalanceService).remove(fakeUser.getId(),
+                List.of(new BalanceEntry(LocalDate.of(2025, 4, 26), TransactionType.EXPENSE, new BigDecimal(1200))));
+        verify(userRepository).incrementTransactionsVersion(fakeUser.getId());
     }
 
     @Test
     void givenInvalidId_whenDelete_thenThrowsException() {
-        mockSecurityContext(fakeUser);
+        mockAuthenticatedUser(fakeUser);
 
-        when(userRepository.findByEmail(fakeUser.getEmail())).thenReturn(fakeUser);
-        when(userRepository.getReferenceById(fakeUser.getId())).thenReturn(fakeUser);
-        when(transactionRepository.findTransactionById(fakeUser.getId(), 1L)).thenReturn(null);
+        when(transactionRepository.deleteTransaction(fakeUser.getId(), 1L)).thenReturn(Optional.empty());
 
         assertThrows(TransactionNotFoundException.class, () -> transactionService.deleteTransaction(1L));
+        verifyNoInteractions(monthlyBalanceService);
+    }
+
+    @Test
+    void givenSelectionAndChanges_whenBulkUpdate_thenMovesEveryRowInOneCall() {
+        mockAuthenticatedUser(fakeUser);
+
+        var selection = new TransactionBulkSelectionDTO(null, TransactionType.EXPENSE, null, LocalDate.of(2025, 4, 30));
+        var changes = new TransactionPatchRequestDTO(null, null, null, null, TransactionType.INCOME);
+        var april = LocalDate.of(2025, 4, 1);
+        var previous = new MonthTotal(april, TransactionType.EXPENSE, new BigDecimal(1350), 2);
+        var current = new MonthTotal(april, TransactionType.INCOME, new BigDecimal(1350), 2);
+        when(transactionRepository.updateTransactions(fakeUser.getId(), selection, changes))
+                .thenReturn(new BulkWrite(List.of(previous), List.of(current)));
+
+        var result = transactionService.updateTransactions(new TransactionBulkUpdateRequestDTO(selection, changes));
+
+        assertEquals(2, result.affected());
+        verify(monthlyBalanceService).replace(fakeUser.getId(), List.of(BalanceEntry.of(previous)),
+                List.of(BalanceEntry.of(current)));
+        verify(userRepository).incrementTransactionsVersion(fakeUser.getId());
+    }
+
+    @Test
+    void givenNothingMatches_whenBulkDelete_thenReturnsZeroWithoutTouchingRollups() {
+        mockAuthenticatedUser(fakeUser);
+
+        var selection = new TransactionBulkSelectionDTO(List.of(7L, 8L), null, null, null);
+        when(transactionRepository.deleteTransactions(fakeUser.getId(), selection))
+                .thenReturn(new BulkWrite(List.of(), List.of()));
+
+        var result = transactionService.deleteTransactions(selection);
+
+        assertEquals(0, result.affected());
+        verifyNoInteractions(monthlyBalanceService);
+        verify(userRepository, never()).incrementTransactionsVersion(any());
+    }
+
+    @Test
+    void givenEmptySelectionOrChanges_whenBulkWrite_thenThrowsWithoutWriting() {
+        var empty = new TransactionBulkSelectionDTO(List.of(), null, null, null);
+        var byType = new TransactionBulkSelectionDTO(null, TransactionType.EXPENSE, null, null);
+        var noChanges = new TransactionPatchRequestDTO(null, null, null, null, null);
+
+        assertThrows(InvalidBulkRequestException.class, () -> transactionService.deleteTransactions(empty));
+        assertThrows(InvalidBulkRequestException.class, () -> transactionService.updateTransactions(
+                new TransactionBulkUpdateRequestDTO(byType, noChanges)));
+        verifyNoInteractions(transactionRepository);
     }
 }